@@ -0,0 +1,120 @@
+package com.membership.benchmarks;
+
+import com.membership.order.application.dto.OrderResponseDTO;
+import com.membership.order.application.mapper.OrderMapper;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.value.Money;
+import com.membership.product.application.dto.ProductRequestDTO;
+import com.membership.product.application.dto.ProductResponseDTO;
+import com.membership.product.application.mapper.ProductMapper;
+import com.membership.product.domain.entity.Product;
+import com.membership.product.domain.entity.ProductCategory;
+import com.membership.users.application.dto.UserRequestDTO;
+import com.membership.users.application.dto.UserResponseDTO;
+import com.membership.users.application.mapper.UserMapper;
+import com.membership.users.domain.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions entité / DTO des trois services : OrderMapper (commande de N lignes),
+ * ProductMapper, UserMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "10"})
+    int items;
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private Order order;
+    private ProductRequestDTO productRequest;
+    private Product product;
+    private UserRequestDTO userRequest;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        order = new Order(1L, 42L, now, OrderStatus.PENDING, Money.ZERO, "1 rue de la Paix, Paris", now, now);
+        Money total = Money.ZERO;
+        for (long id = 1; id <= items; id++) {
+            OrderItem item = new OrderItem();
+            item.setId(id);
+            item.setProductId(id);
+            item.setProductName("Produit " + id);
+            item.setProductCategory(ProductCategory.ELECTRONICS.name());
+            item.setQuantity(2);
+            item.setUnitPrice(Money.parse("19.90"));
+            item.setSubtotal(Money.parse("39.80"));
+            order.addItem(item);
+            total = total.plus(item.getSubtotal());
+        }
+        order.setTotalAmount(total);
+
+        productRequest = new ProductRequestDTO();
+        productRequest.setName("Casque audio");
+        productRequest.setDescription("Casque sans fil à réduction de bruit");
+        productRequest.setPrice(new BigDecimal("129.90"));
+        productRequest.setStock(250);
+        productRequest.setCategory(ProductCategory.ELECTRONICS);
+        productRequest.setImageUrl("https://cdn.example.com/products/1.png");
+        product = productMapper.toEntity(productRequest);
+        product.setId(1L);
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+
+        userRequest = new UserRequestDTO("Alice", "Martin", "alice.martin@example.com");
+        user = userMapper.toEntity(userRequest);
+        user.setId(42L);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderToResponse() {
+        return OrderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public Product productToEntity() {
+        return productMapper.toEntity(productRequest);
+    }
+
+    @Benchmark
+    public ProductResponseDTO productToResponse() {
+        return productMapper.toResponse(product);
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return userMapper.toEntity(userRequest);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToDto() {
+        return userMapper.toDto(user);
+    }
+}
@@ -0,0 +1,53 @@
+package com.membership.benchmarks;
+
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.value.Money;
+import com.membership.order.infrastructure.metrics.OrderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderMetrics sous contention : 4 threads sur la même instance, comme les requêtes
+ * concurrentes de ms-order. addRevenue ajoute des centimes à un AtomicLong partagé.
+ * -t N en ligne de commande JMH pour un autre nombre de threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class OrderMetricsBenchmark {
+
+    private static final Money AMOUNT = Money.parse("39.80");
+
+    private OrderMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        metrics = new OrderMetrics(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void incrementStatus() {
+        metrics.incrementStatus(OrderStatus.PENDING);
+    }
+
+    @Benchmark
+    public void addRevenue() {
+        metrics.addRevenue(AMOUNT);
+    }
+}
@@ -0,0 +1,79 @@
+package com.membership.benchmarks;
+
+import com.membership.order.domain.value.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total d'une commande de N lignes (prix unitaire × quantité par ligne, sous-total conservé sur la
+ * ligne, somme des sous-totaux) : arithmétique BigDecimal d'origine (total) contre Money en centimes
+ * d'OrderService.prepareOrder (money).
+ * Allocations par appel : -prof gc (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "100"})
+    int items;
+
+    private BigDecimal[] unitPrices;
+    private Money[] moneyPrices;
+    private int[] quantities;
+    private BigDecimal[] subtotals;
+    private Money[] moneySubtotals;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        unitPrices = new BigDecimal[items];
+        moneyPrices = new Money[items];
+        subtotals = new BigDecimal[items];
+        moneySubtotals = new Money[items];
+        quantities = new int[items];
+        for (int i = 0; i < items; i++) {
+            unitPrices[i] = BigDecimal.valueOf(100 + random.nextInt(50_000), 2);
+            moneyPrices[i] = Money.of(unitPrices[i]);
+            quantities[i] = 1 + random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal total() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < items; i++) {
+            BigDecimal subtotal = unitPrices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            subtotals[i] = subtotal;
+            total = total.add(subtotal);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money money() {
+        long total = 0;
+        for (int i = 0; i < items; i++) {
+            Money subtotal = moneyPrices[i].times(quantities[i]);
+            moneySubtotals[i] = subtotal;
+            total = Math.addExact(total, subtotal.minorUnits());
+        }
+        return Money.ofMinor(total);
+    }
+}
@@ -0,0 +1,82 @@
+package com.membership.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lance les micro-benchmarks de la plateforme et écrit les résultats au format JSON de JMH
+ * (un objet par benchmark et jeu de paramètres : score, erreur, percentiles) pour comparer deux versions.
+ * Avec --baseline, affiche l'écart de chaque score avec un résultat précédent (positif = plus lent).
+ * Avec --gc, mesure aussi les allocations (gc.alloc.rate.norm, octets par opération).
+ *
+ * cd benchmarks
+ * mvn -B package dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:$(cat target/cp.txt) com.membership.benchmarks.PlatformBenchmarks \
+ *      --include=Mapper --result=target/jmh-result.json --baseline=jmh-result-1.0.0.json
+ */
+public class PlatformBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String result = options.getOrDefault("result", "target/jmh-result.json");
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(options.getOrDefault("include", ".*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result);
+        if (options.containsKey("gc")) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        new Runner(builder.build()).run();
+
+        if (options.containsKey("baseline")) {
+            compare(scores(new File(options.get("baseline"))), scores(new File(result)));
+        }
+    }
+
+    // Les benchmarks sont tous en temps moyen par opération : un écart positif est une régression
+    static void compare(Map<String, Double> baseline, Map<String, Double> current) {
+        System.out.printf("%n%-60s %12s %12s %8s%n", "benchmark", "référence", "actuel", "écart");
+        current.forEach((benchmark, score) -> {
+            Double reference = baseline.get(benchmark);
+            if (reference == null) {
+                System.out.printf("%-60s %12s %12.3f %8s%n", benchmark, "-", score, "nouveau");
+            } else {
+                System.out.printf("%-60s %12.3f %12.3f %+7.1f%%%n", benchmark, reference, score,
+                        (score - reference) / reference * 100);
+            }
+        });
+    }
+
+    // Clé : nom court du benchmark et paramètres, par exemple MapperBenchmark.orderToResponse{items=10}
+    static Map<String, Double> scores(File file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String benchmark = run.path("benchmark").asText().replaceFirst("^.*\\.(\\w+\\.\\w+)$", "$1");
+            Map<String, String> params = new LinkedHashMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            scores.put(params.isEmpty() ? benchmark : benchmark + params,
+                    run.path("primaryMetric").path("score").asDouble());
+        }
+        return scores;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        return options;
+    }
+}
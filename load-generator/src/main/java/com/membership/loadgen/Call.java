@@ -0,0 +1,17 @@
+package com.membership.loadgen;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.Consumer;
+
+/**
+ * Une requête à émettre : libellé de l'endpoint (clé des histogrammes),
+ * requête HTTP et traitement de la réponse (jeton de connexion, commande créée...).
+ */
+record Call(String label, HttpRequest request, Consumer<HttpResponse<String>> onResponse) {
+
+    Call(String label, HttpRequest request) {
+        this(label, request, response -> {
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.membership.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogrammes HDR par endpoint, en microsecondes : latence corrigée (depuis l'instant prévu)
+ * et non corrigée (depuis l'envoi effectif). L'écart entre les deux mesure l'attente que
+ * l'omission coordonnée masquerait.
+ */
+final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private long elapsedNanos;
+
+    void record(String label, long intended, long sent, long done, boolean error) {
+        Endpoint endpoint = endpoint(label);
+        endpoint.corrected.recordValue(TimeUnit.NANOSECONDS.toMicros(done - intended));
+        endpoint.uncorrected.recordValue(TimeUnit.NANOSECONDS.toMicros(done - sent));
+        if (error) {
+            endpoint.errors.increment();
+        }
+    }
+
+    void rejected(String label) {
+        endpoint(label).rejected.increment();
+    }
+
+    void finish(long startNanos) {
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    /** Un fichier .hgrm par endpoint et par mesure (lisible par HdrHistogram Plotter), plus summary.txt. */
+    void write(Path directory, String title) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Endpoint> entry : sorted().entrySet()) {
+            String file = entry.getKey().replaceAll("[^A-Za-z0-9_-]+", "_");
+            writeDistribution(directory.resolve(file + ".corrected.hgrm"), entry.getValue().corrected);
+            writeDistribution(directory.resolve(file + ".uncorrected.hgrm"), entry.getValue().uncorrected);
+        }
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            printSummary(summary, title);
+        }
+    }
+
+    void printSummary(PrintStream out, String title) {
+        double seconds = elapsedNanos / 1e9;
+        out.println(title);
+        out.printf("%-28s %8s %9s %7s %7s %9s %9s %9s %9s %9s %13s%n", "endpoint", "requêtes", "obtenu/s",
+                "erreurs", "rejets", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "p99 non corr.");
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        long rejected = 0;
+        for (Map.Entry<String, Endpoint> entry : sorted().entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            Histogram corrected = endpoint.corrected.copy();
+            all.add(corrected);
+            errors += endpoint.errors.sum();
+            rejected += endpoint.rejected.sum();
+            printRow(out, entry.getKey(), corrected, endpoint.uncorrected.copy(), seconds,
+                    endpoint.errors.sum(), endpoint.rejected.sum());
+        }
+        printRow(out, "total", all, null, seconds, errors, rejected);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram corrected, Histogram uncorrected,
+                                 double seconds, long errors, long rejected) {
+        out.printf("%-28s %8d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %13s%n", label,
+                corrected.getTotalCount(), corrected.getTotalCount() / seconds, errors, rejected,
+                millis(corrected, 50), millis(corrected, 90), millis(corrected, 99), millis(corrected, 99.9),
+                corrected.getMaxValue() / MICROS_PER_MILLI,
+                uncorrected == null ? "" : String.format("%.2f", millis(uncorrected, 99)));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private Map<String, Endpoint> sorted() {
+        return new TreeMap<>(endpoints);
+    }
+
+    private Endpoint endpoint(String label) {
+        return endpoints.computeIfAbsent(label, key -> new Endpoint());
+    }
+
+    private static final class Endpoint {
+        private final Histogram corrected = new ConcurrentHistogram(3);
+        private final Histogram uncorrected = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+    }
+}
@@ -0,0 +1,183 @@
+package com.membership.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Générateur de charge bout en bout des trois services, en modèle ouvert : les arrivées suivent
+ * le débit demandé quelle que soit la latence observée. Trois modes :
+ *
+ * run    : paliers de débit synthétiques (--rates=20,50,100 requêtes/s, --duration=60 s par palier,
+ *          --warmup=10 s non mesurées avant le premier), mélange --mix=login:5,browse:50,search:25,
+ *          create-order:15,cancel:5, arrivées --arrivals=poisson|uniform. Un répertoire par palier
+ *          sous --output=target/loadgen : histogrammes .hgrm par endpoint et summary.txt.
+ * record : proxy d'enregistrement (--proxy=9080=membership,9082=product,9083=order) ; le trafic
+ *          réel qui le traverse est ajouté à --record=requests.jsonl jusqu'à l'arrêt (Ctrl+C).
+ * replay : rejoue --record=requests.jsonl en respectant les écarts enregistrés (--speed=2 pour
+ *          doubler le débit) et écrit le même rapport sous --output/replay.
+ *
+ * Les services sont visés par --membership-url, --product-url et --order-url (localhost par défaut) ;
+ * --max-in-flight borne les requêtes sans réponse (au-delà, l'arrivée est comptée comme rejetée).
+ *
+ * cd load-generator
+ * mvn -B package dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:$(cat target/cp.txt) com.membership.loadgen.LoadGenerator run --rates=50,100,200
+ */
+public class LoadGenerator {
+
+    private static final String DEFAULT_MIX = "login:5,browse:50,search:25,create-order:15,cancel:5";
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 && !args[0].startsWith("--") ? args[0] : "run";
+        Map<String, String> options = parse(args);
+        ServiceUrls urls = new ServiceUrls(
+                options.getOrDefault("membership-url", "http://localhost:8080"),
+                options.getOrDefault("product-url", "http://localhost:8082"),
+                options.getOrDefault("order-url", "http://localhost:8083"));
+        Path output = Path.of(options.getOrDefault("output", "target/loadgen"));
+        Path recordFile = Path.of(options.getOrDefault("record", "requests.jsonl"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        switch (mode) {
+            case "run" -> run(http, urls, options, output, maxInFlight);
+            case "record" -> record(http, urls, options, recordFile);
+            case "replay" -> replay(http, urls, options, recordFile, output, maxInFlight);
+            default -> throw new IllegalArgumentException("Mode inconnu : " + mode + " (run, record ou replay)");
+        }
+    }
+
+    private static void run(HttpClient http, ServiceUrls urls, Map<String, String> options, Path output,
+                            int maxInFlight) throws Exception {
+        Workload workload = new Workload(mix(options.getOrDefault("mix", DEFAULT_MIX)), urls,
+                options.getOrDefault("email", "user@example.com"),
+                options.getOrDefault("password", "password123"));
+        workload.prepare(http);
+        boolean poisson = !"uniform".equals(options.getOrDefault("arrivals", "poisson"));
+        long duration = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "60")));
+        long warmup = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "10")));
+        OpenLoop loop = new OpenLoop(http, maxInFlight);
+
+        String[] rates = options.getOrDefault("rates", "20,50,100").split(",");
+        if (warmup > 0) {
+            loop.run(arrivals(workload, Double.parseDouble(rates[0]), warmup, poisson));
+        }
+        for (String rate : rates) {
+            double perSecond = Double.parseDouble(rate.trim());
+            LatencyReport report = loop.run(arrivals(workload, perSecond, duration, poisson));
+            String title = String.format("Débit visé : %s requêtes/s pendant %d s (%s)", rate.trim(),
+                    TimeUnit.NANOSECONDS.toSeconds(duration), poisson ? "Poisson" : "uniforme");
+            report.printSummary(System.out, title);
+            System.out.println();
+            report.write(output.resolve(rate.trim() + "-per-s"), title);
+        }
+    }
+
+    private static void record(HttpClient http, ServiceUrls urls, Map<String, String> options,
+                               Path recordFile) throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1);
+        try (TrafficRecorder recorder = new TrafficRecorder(http, urls, recordFile)) {
+            for (String mapping : options.getOrDefault("proxy", "9080=membership,9082=product,9083=order").split(",")) {
+                String[] pair = mapping.trim().split("=", 2);
+                recorder.listen(pair[1], Integer.parseInt(pair[0]));
+                System.out.printf("Proxy :%s -> %s (%s)%n", pair[0], urls.of(pair[1]), pair[1]);
+            }
+            System.out.println("Enregistrement dans " + recordFile.toAbsolutePath() + " (Ctrl+C pour arrêter)");
+            Runtime.getRuntime().addShutdownHook(new Thread(stopped::countDown));
+            stopped.await();
+        }
+    }
+
+    private static void replay(HttpClient http, ServiceUrls urls, Map<String, String> options, Path recordFile,
+                               Path output, int maxInFlight) throws Exception {
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        List<RecordedRequest> recorded = new ArrayList<>();
+        ObjectMapper mapper = new ObjectMapper();
+        try (BufferedReader reader = Files.newBufferedReader(recordFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    recorded.add(mapper.readValue(line, RecordedRequest.class));
+                }
+            }
+        }
+        // Le rejeu commence à la première requête enregistrée, pas au démarrage du proxy
+        long first = recorded.isEmpty() ? 0 : recorded.get(0).offsetMillis();
+        Iterator<OpenLoop.Arrival> arrivals = recorded.stream()
+                .map(request -> new OpenLoop.Arrival(
+                        (long) (TimeUnit.MILLISECONDS.toNanos(request.offsetMillis() - first) / speed),
+                        () -> new Call(request.label(), TrafficRecorder.toRequest(urls.of(request.service()), request))))
+                .iterator();
+        LatencyReport report = new OpenLoop(http, maxInFlight).run(arrivals);
+        String title = String.format("Rejeu de %s : %d requêtes, vitesse x%s", recordFile, recorded.size(), speed);
+        report.printSummary(System.out, title);
+        report.write(output.resolve("replay"), title);
+    }
+
+    // Arrivées sur durationNanos : intervalles exponentiels (Poisson) ou réguliers
+    private static Iterator<OpenLoop.Arrival> arrivals(Workload workload, double perSecond, long durationNanos,
+                                                       boolean poisson) {
+        double meanInterval = TimeUnit.SECONDS.toNanos(1) / perSecond;
+        return new Iterator<>() {
+            private double offset;
+
+            @Override
+            public boolean hasNext() {
+                return offset < durationNanos;
+            }
+
+            @Override
+            public OpenLoop.Arrival next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                OpenLoop.Arrival arrival = new OpenLoop.Arrival((long) offset, workload::next);
+                offset += poisson
+                        ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanInterval
+                        : meanInterval;
+                return arrival;
+            }
+        };
+    }
+
+    private static Map<String, Integer> mix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split(":", 2);
+            mix.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        return mix;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            String[] pair = arg.substring(2).split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,76 @@
+package com.membership.loadgen;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Modèle ouvert : chaque arrivée part à son instant prévu, que les réponses précédentes
+ * soient revenues ou non (un thread virtuel par requête). La latence corrigée est mesurée
+ * depuis l'instant prévu : le retard pris par le générateur ou le service est compté
+ * (correction de l'omission coordonnée) ; la latence non corrigée part de l'envoi effectif.
+ * Au-delà de maxInFlight requêtes sans réponse, les arrivées sont comptées comme rejetées.
+ */
+final class OpenLoop {
+
+    /** Arrivée à offsetNanos du début ; la requête n'est construite qu'à l'instant prévu. */
+    record Arrival(long offsetNanos, Supplier<Call> call) {
+    }
+
+    private final HttpClient http;
+    private final int maxInFlight;
+
+    OpenLoop(HttpClient http, int maxInFlight) {
+        this.http = http;
+        this.maxInFlight = maxInFlight;
+    }
+
+    LatencyReport run(Iterator<Arrival> arrivals) {
+        LatencyReport report = new LatencyReport();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (arrivals.hasNext()) {
+                Arrival arrival = arrivals.next();
+                long intended = start + arrival.offsetNanos();
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Call call = arrival.call().get();
+                if (!inFlight.tryAcquire()) {
+                    report.rejected(call.label());
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        send(call, intended, report);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        report.finish(start);
+        return report;
+    }
+
+    private void send(Call call, long intended, LatencyReport report) {
+        long sent = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(call.request(), HttpResponse.BodyHandlers.ofString());
+            report.record(call.label(), intended, sent, System.nanoTime(), response.statusCode() >= 400);
+            call.onResponse().accept(response);
+        } catch (IOException e) {
+            report.record(call.label(), intended, sent, System.nanoTime(), true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
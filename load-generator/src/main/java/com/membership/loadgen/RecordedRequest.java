@@ -0,0 +1,17 @@
+package com.membership.loadgen;
+
+import java.util.Map;
+
+/**
+ * Une ligne de requests.jsonl : instant relatif au début de l'enregistrement,
+ * service visé, méthode, chemin (avec la query), en-têtes rejouables et corps.
+ */
+record RecordedRequest(long offsetMillis, String service, String method, String path,
+                       Map<String, String> headers, String body) {
+
+    /** Libellé d'agrégation : identifiants numériques remplacés, query retirée. */
+    String label() {
+        String route = path.replaceFirst("\\?.*$", "").replaceAll("/\\d+(?=/|$)", "/{id}");
+        return method + " " + route;
+    }
+}
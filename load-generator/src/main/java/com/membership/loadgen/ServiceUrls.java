@@ -0,0 +1,17 @@
+package com.membership.loadgen;
+
+/**
+ * URLs de base des trois services ; les lignes enregistrées désignent le service
+ * par son nom (membership, product, order) pour être rejouées vers un autre environnement.
+ */
+record ServiceUrls(String membership, String product, String order) {
+
+    String of(String service) {
+        return switch (service) {
+            case "membership" -> membership;
+            case "product" -> product;
+            case "order" -> order;
+            default -> throw new IllegalArgumentException("Service inconnu : " + service);
+        };
+    }
+}
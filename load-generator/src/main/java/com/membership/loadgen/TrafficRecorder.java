@@ -0,0 +1,132 @@
+package com.membership.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enregistrement de trafic réel : un proxy HTTP par service (les clients visent le port
+ * du proxy au lieu de celui du service) relaie chaque requête et l'ajoute à requests.jsonl.
+ * Seuls les en-têtes rejouables sont conservés (type de contenu, Accept, autorisation,
+ * requêtes conditionnelles).
+ */
+final class TrafficRecorder implements AutoCloseable {
+
+    static final Set<String> RECORDED_HEADERS = Set.of("content-type", "accept", "authorization",
+            "if-none-match", "if-modified-since");
+    private static final Set<String> RELAYED_RESPONSE_HEADERS = Set.of("content-type", "etag",
+            "last-modified", "cache-control", "vary", "location", "retry-after");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient http;
+    private final ServiceUrls urls;
+    private final BufferedWriter writer;
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final long start = System.nanoTime();
+
+    TrafficRecorder(HttpClient http, ServiceUrls urls, Path file) throws IOException {
+        this.http = http;
+        this.urls = urls;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /** Ouvre un proxy sur port pour service (membership, product ou order). */
+    void listen(String service, int port) throws IOException {
+        String target = urls.of(service);
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> relay(service, target, exchange));
+        server.start();
+        servers.add(server);
+    }
+
+    private void relay(String service, String target, HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long offset = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String path = exchange.getRequestURI().getRawPath()
+                    + (exchange.getRequestURI().getRawQuery() == null ? "" : "?" + exchange.getRequestURI().getRawQuery());
+            byte[] body = exchange.getRequestBody().readAllBytes();
+
+            Map<String, String> headers = new LinkedHashMap<>();
+            exchange.getRequestHeaders().forEach((name, values) -> {
+                if (RECORDED_HEADERS.contains(name.toLowerCase())) {
+                    headers.put(name, values.get(0));
+                }
+            });
+            RecordedRequest recorded = new RecordedRequest(offset, service, exchange.getRequestMethod(), path,
+                    headers, body.length == 0 ? null : new String(body, StandardCharsets.UTF_8));
+            append(recorded);
+
+            HttpResponse<byte[]> response;
+            try {
+                response = http.send(toRequest(target, recorded), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                exchange.sendResponseHeaders(502, -1);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            response.headers().map().forEach((name, values) -> {
+                if (RELAYED_RESPONSE_HEADERS.contains(name.toLowerCase())) {
+                    exchange.getResponseHeaders().put(name, values);
+                }
+            });
+            byte[] responseBody = response.body();
+            exchange.sendResponseHeaders(response.statusCode(), responseBody.length == 0 ? -1 : responseBody.length);
+            if (responseBody.length > 0) {
+                exchange.getResponseBody().write(responseBody);
+            }
+        }
+    }
+
+    /** Requête équivalente à recorded vers baseUrl, pour le relais comme pour le rejeu. */
+    static HttpRequest toRequest(String baseUrl, RecordedRequest recorded) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + recorded.path()))
+                .timeout(Duration.ofSeconds(30))
+                .method(recorded.method(), recorded.body() == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(recorded.body()));
+        if (recorded.headers() != null) {
+            recorded.headers().forEach(builder::header);
+        }
+        return builder.build();
+    }
+
+    private synchronized void append(RecordedRequest recorded) throws IOException {
+        writer.write(MAPPER.writeValueAsString(recorded));
+        writer.newLine();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        servers.forEach(server -> server.stop(0));
+        synchronized (this) {
+            writer.close();
+        }
+    }
+}
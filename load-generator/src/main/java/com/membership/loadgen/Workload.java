@@ -0,0 +1,165 @@
+package com.membership.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parcours synthétique d'un client : connexion (ms-membership), consultation et recherche
+ * du catalogue (ms-product), création et annulation de commande (ms-order), tirés selon
+ * les poids du mélange. Les requêtes portent le dernier jeton obtenu à la connexion ;
+ * une annulation vise une commande créée pendant le tir (création à la place s'il n'y en a pas).
+ */
+final class Workload {
+
+    static final String LOGIN = "login";
+    static final String BROWSE = "browse";
+    static final String SEARCH = "search";
+    static final String CREATE_ORDER = "create-order";
+    static final String CANCEL = "cancel";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final ServiceUrls urls;
+    private final String email;
+    private final String password;
+
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<String> searchTerms = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> cancellableOrders = new ConcurrentLinkedQueue<>();
+    private volatile String token;
+
+    Workload(Map<String, Integer> mix, ServiceUrls urls, String email, String password) {
+        this.mix = new LinkedHashMap<>(mix);
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.urls = urls;
+        this.email = email;
+        this.password = password;
+    }
+
+    /** Catalogue lu une fois avant le tir : identifiants commandés et termes de recherche. */
+    void prepare(HttpClient http) throws Exception {
+        HttpResponse<String> response = http.send(get(urls.product() + "/api/v1/products"),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200) {
+            for (JsonNode product : MAPPER.readTree(response.body())) {
+                productIds.add(product.path("id").asLong());
+                String name = product.path("name").asText();
+                if (!name.isBlank()) {
+                    searchTerms.add(name.split("\\s+")[0]);
+                }
+            }
+        }
+        if (productIds.isEmpty()) {
+            throw new IllegalStateException("Catalogue vide ou illisible (HTTP " + response.statusCode()
+                    + ") sur " + urls.product());
+        }
+    }
+
+    Call next() {
+        int draw = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            draw -= entry.getValue();
+            if (draw < 0) {
+                return call(entry.getKey());
+            }
+        }
+        throw new IllegalStateException("Mélange vide");
+    }
+
+    private Call call(String operation) {
+        return switch (operation) {
+            case LOGIN -> new Call(LOGIN, post(urls.membership() + "/api/v1/auth/login",
+                    "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"), this::onLogin);
+            case BROWSE -> new Call(BROWSE, get(urls.product() + "/api/v1/products/" + randomProduct()));
+            case SEARCH -> new Call(SEARCH, get(urls.product() + "/api/v1/products/search?name="
+                    + URLEncoder.encode(randomTerm(), StandardCharsets.UTF_8)));
+            case CREATE_ORDER -> createOrder();
+            case CANCEL -> {
+                Long orderId = cancellableOrders.poll();
+                yield orderId == null
+                        ? createOrder()
+                        : new Call(CANCEL, request(urls.order() + "/api/v1/orders/" + orderId + "/cancel")
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                        .build());
+            }
+            default -> throw new IllegalArgumentException("Opération inconnue : " + operation);
+        };
+    }
+
+    private Call createOrder() {
+        String body = "{\"userId\":1,\"shippingAddress\":\"1 rue de la Paix, Paris\","
+                + "\"items\":[{\"productId\":" + randomProduct() + ",\"quantity\":1}]}";
+        return new Call(CREATE_ORDER, post(urls.order() + "/api/v1/orders", body), response -> {
+            if (response.statusCode() == 201) {
+                readId(response.body()).ifPresent(cancellableOrders::add);
+            }
+        });
+    }
+
+    private void onLogin(HttpResponse<String> response) {
+        if (response.statusCode() == 200) {
+            try {
+                token = MAPPER.readTree(response.body()).path("token").asText(null);
+            } catch (Exception e) {
+                // jeton illisible : le précédent reste utilisé
+            }
+        }
+    }
+
+    private long randomProduct() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+
+    private String randomTerm() {
+        return searchTerms.isEmpty() ? "a" : searchTerms.get(ThreadLocalRandom.current().nextInt(searchTerms.size()));
+    }
+
+    private HttpRequest get(String url) {
+        return request(url).GET().build();
+    }
+
+    private HttpRequest post(String url, String json) {
+        return request(url)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String url) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json");
+        String current = token;
+        if (current != null) {
+            builder.header("Authorization", "Bearer " + current);
+        }
+        return builder;
+    }
+
+    private static Optional<Long> readId(String json) {
+        try {
+            JsonNode id = MAPPER.readTree(json).path("id");
+            return id.isNumber() ? Optional.of(id.asLong()) : Optional.empty();
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+}
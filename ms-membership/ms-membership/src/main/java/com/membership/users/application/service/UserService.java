@@ -14,6 +14,7 @@ import com.membership.users.domain.entity.User;
 import com.membership.users.domain.repository.UserRepository;
 import com.membership.users.infrastructure.exception.ResourceAlreadyExistsException;
 import com.membership.users.infrastructure.exception.ResourceNotFoundException;
+import com.membership.users.infrastructure.web.ResourceVersion;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -33,10 +34,39 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class UserService {
 
+    static final int MAX_BATCH_IDS = 100;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final MeterRegistry meterRegistry;
 
+    /**
+     * Version d'un utilisateur (ETag / Last-Modified) sans charger l'entité
+     */
+    public ResourceVersion getUserVersion(Long id) {
+        return userRepository.findUpdatedAtById(id)
+                .map(updatedAt -> ResourceVersion.of(id, updatedAt))
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    }
+
+    /**
+     * Version de la liste complète des utilisateurs (requête d'agrégat)
+     */
+    public ResourceVersion getAllUsersVersion() {
+        return toVersion(userRepository.stampAll());
+    }
+
+    /**
+     * Version de la liste des utilisateurs actifs (requête d'agrégat)
+     */
+    public ResourceVersion getActiveUsersVersion() {
+        return toVersion(userRepository.stampActive());
+    }
+
+    private static ResourceVersion toVersion(UserRepository.VersionStamp stamp) {
+        return ResourceVersion.ofStamp(stamp.getTotal(), stamp.getIdSum(), stamp.getLastUpdatedAt());
+    }
+
     /**
      * Récupère tous les utilisateurs
      */
@@ -45,7 +75,7 @@ public class UserService {
         
         List<User> users = userRepository.findAll();
         
-        log.info("Nombre d'utilisateurs récupérés: {}", users.size());
+        log.debug("Nombre d'utilisateurs récupérés: {}", users.size());
         
         return users.stream()
                 .map(userMapper::toDto)
@@ -61,11 +91,26 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         
-        log.info("Utilisateur trouvé: {}", user.getEmail());
+        log.debug("Utilisateur trouvé: {}", user.getEmail());
         
         return userMapper.toDto(user);
     }
 
+    /**
+     * Récupère un lot d'utilisateurs par leurs IDs (au plus MAX_BATCH_IDS) ; les IDs inconnus sont ignorés.
+     * Best practice : une requête IN plutôt qu'un aller-retour par utilisateur pour les appelants qui regroupent
+     */
+    public List<UserResponseDTO> getUsersByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("Au plus " + MAX_BATCH_IDS + " identifiants par lot");
+        }
+        log.debug("Récupération groupée de {} utilisateurs", ids.size());
+
+        return userRepository.findByIdIn(ids).stream()
+                .map(userMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Crée un nouvel utilisateur
      */
@@ -158,7 +203,7 @@ public class UserService {
         
         List<User> users = userRepository.searchByLastName(lastName);
         
-        log.info("Nombre d'utilisateurs trouvés: {}", users.size());
+        log.debug("Nombre d'utilisateurs trouvés: {}", users.size());
         
         return users.stream()
                 .map(userMapper::toDto)
@@ -173,7 +218,7 @@ public class UserService {
         
         List<User> users = userRepository.findByActiveTrue();
         
-        log.info("Nombre d'utilisateurs actifs: {}", users.size());
+        log.debug("Nombre d'utilisateurs actifs: {}", users.size());
         
         return users.stream()
                 .map(userMapper::toDto)
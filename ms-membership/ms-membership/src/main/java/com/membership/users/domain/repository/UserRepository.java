@@ -2,10 +2,13 @@ package com.membership.users.domain.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.membership.users.domain.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +32,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Recherche groupée par identifiants (un seul SELECT ... WHERE id IN), les absents sont ignorés
+     */
+    List<User> findByIdIn(Collection<Long> ids);
+
     /**
      * Récupère tous les utilisateurs actifs
      */
@@ -45,4 +53,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT COUNT(u) FROM User u WHERE u.active = true")
     long countActiveUsers();
+
+    /**
+     * Date de dernière modification seule, pour les GET conditionnels (pas de chargement de l'entité)
+     */
+    @Query("SELECT u.updatedAt FROM User u WHERE u.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Empreinte de la liste complète : nombre, somme des ids, dernière modification
+     */
+    @Query("SELECT COUNT(u) AS total, COALESCE(SUM(u.id), 0) AS idSum, MAX(u.updatedAt) AS lastUpdatedAt FROM User u")
+    VersionStamp stampAll();
+
+    /**
+     * Empreinte de la liste des utilisateurs actifs
+     */
+    @Query("SELECT COUNT(u) AS total, COALESCE(SUM(u.id), 0) AS idSum, MAX(u.updatedAt) AS lastUpdatedAt "
+            + "FROM User u WHERE u.active = true")
+    VersionStamp stampActive();
+
+    interface VersionStamp {
+        long getTotal();
+        long getIdSum();
+        LocalDateTime getLastUpdatedAt();
+    }
 }
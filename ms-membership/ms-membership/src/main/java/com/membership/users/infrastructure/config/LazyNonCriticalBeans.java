@@ -0,0 +1,63 @@
+package com.membership.users.infrastructure.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Démarrage : les beans non critiques (documentation OpenAPI / Swagger UI, console H2)
+ * ne sont créés qu'à leur première utilisation. Les packages concernés viennent de
+ * startup.lazy-packages ; le reste du contexte est initialisé au démarrage.
+ * Best practice : rester ciblé plutôt que spring.main.lazy-initialization global, qui reporte
+ * les erreurs de configuration et le coût d'initialisation sur les premières requêtes métier
+ */
+@Component
+public class LazyNonCriticalBeans implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(LazyNonCriticalBeans.class);
+
+    private List<String> packages = List.of();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        packages = Binder.get(environment)
+                .bind("startup.lazy-packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        int lazy = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            String source = sourceClassName(definition);
+            if (source != null && !definition.isLazyInit() && packages.stream().anyMatch(source::startsWith)) {
+                definition.setLazyInit(true);
+                lazy++;
+            }
+        }
+        logger.debug("{} beans initialisés à la première utilisation ({})", lazy, packages);
+    }
+
+    // Beans @Bean : classe de configuration déclarante ; sinon classe du bean
+    private static String sourceClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getDeclaringClassName();
+            }
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -0,0 +1,112 @@
+package com.membership.users.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routage lecture/écriture : les transactions readOnly partent sur un réplica,
+ * les autres sur le primaire. La connexion n'est obtenue qu'au premier ordre SQL
+ * (LazyConnectionDataSourceProxy), une fois le flag readOnly de la transaction connu.
+ * Best practice : UserService est readOnly au niveau de la classe, seules les méthodes
+ * d'écriture annotées @Transactional touchent le primaire
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceRoutingProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = properties.getReplicas().get(i);
+
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(primaryDataSource.getPoolName() + "-replica-" + (i + 1));
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            pool.setAutoCommit(false);
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            replicas.add(new ReplicaRoutingDataSource.Replica(
+                    new MeteredRouteDataSource("replica-" + (i + 1), pool, meterRegistry)));
+        }
+
+        return new ReplicaRoutingDataSource(
+                new MeteredRouteDataSource("primary", primaryDataSource, meterRegistry),
+                replicas, properties.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource routingDataSource(HikariDataSource primaryDataSource,
+                                        ReplicaRoutingDataSource replicaRoutingDataSource,
+                                        MeterRegistry meterRegistry,
+                                        ObjectProvider<DataSourceObservationListener> observationListener) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(observed("primary",
+                new MeteredRouteDataSource("primary", primaryDataSource, meterRegistry), observationListener));
+        proxy.setReadOnlyDataSource(observed("replicas", replicaRoutingDataSource, observationListener));
+        return proxy;
+    }
+
+    // Spans JDBC posés sous le proxy paresseux : l'instrumentation lit l'URL de chaque connexion obtenue,
+    // ce qui, au-dessus du proxy, ouvrirait le primaire avant que le flag readOnly ne soit connu
+    // (les beans de routage sont exclus de jdbc.excluded-data-source-bean-names)
+    private static DataSource observed(String route, DataSource dataSource,
+                                       ObjectProvider<DataSourceObservationListener> observationListener) {
+        DataSourceObservationListener listener = observationListener.getIfAvailable();
+        if (listener == null) {
+            return dataSource;
+        }
+        return ProxyDataSourceBuilder.create(route, dataSource)
+                .listener(listener)
+                .methodListener(listener)
+                .build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+                                               ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaRoutingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource.routing.replication-stand-in", name = "enabled", havingValue = "true")
+    public H2ReplicationStandIn h2ReplicationStandIn(HikariDataSource primaryDataSource,
+                                                     ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                     ReplicaLagMonitor replicaLagMonitor) {
+        return new H2ReplicationStandIn(primaryDataSource, replicaRoutingDataSource, replicaLagMonitor);
+    }
+}
@@ -0,0 +1,89 @@
+package com.membership.users.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Réplication de substitution pour les bases H2 en mémoire : exporte le primaire
+ * (SCRIPT) et le rejoue sur chaque réplica. Pendant la copie le réplica est retiré
+ * de la rotation, et vidé seulement une fois ses lectures en cours terminées ;
+ * le contrôle de retard le réintègre une fois resynchronisé.
+ * Copies et contrôles de retard partagent le verrou du moniteur : un contrôle lancé pendant
+ * la copie retirerait de la rotation le réplica qui vient d'être resynchronisé.
+ * Ne remplace pas une vraie réplication (streaming PostgreSQL, MySQL binlog...).
+ */
+public class H2ReplicationStandIn {
+
+    private static final Logger logger = LoggerFactory.getLogger(H2ReplicationStandIn.class);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final JdbcTemplate primary;
+    private final ReplicaRoutingDataSource routing;
+    private final ReplicaLagMonitor lagMonitor;
+
+    public H2ReplicationStandIn(DataSource primaryDataSource, ReplicaRoutingDataSource routing,
+                                ReplicaLagMonitor lagMonitor) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.routing = routing;
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Scheduled(initialDelayString = "${datasource.routing.replication-stand-in.interval:PT2S}",
+            fixedDelayString = "${datasource.routing.replication-stand-in.interval:PT2S}")
+    public void replicate() {
+        synchronized (lagMonitor) {
+            // Battement frais avant l'export : le retard mesuré après la copie est sa seule durée
+            lagMonitor.checkLag();
+            List<String> script = primary.queryForList("SCRIPT NOPASSWORDS NOSETTINGS", String.class);
+
+            for (ReplicaRoutingDataSource.Replica replica : routing.getReplicas()) {
+                replica.markUnavailable();
+                awaitIdle(replica);
+                try (Connection connection = replica.getDataSource().getTargetDataSource().getConnection();
+                     Statement statement = connection.createStatement()) {
+                    connection.setAutoCommit(true);
+                    statement.execute("DROP ALL OBJECTS");
+                    for (String sql : script) {
+                        statement.execute(sql);
+                    }
+                } catch (SQLException ex) {
+                    logger.warn("Resynchronisation du réplica {} échouée: {}", replica.getName(), ex.getMessage());
+                    continue;
+                }
+                lagMonitor.checkReplica(replica, Instant.now());
+            }
+        }
+    }
+
+    private void awaitIdle(ReplicaRoutingDataSource.Replica replica) {
+        if (!(replica.getDataSource().getTargetDataSource() instanceof HikariDataSource pool)) {
+            return;
+        }
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (poolBean != null && poolBean.getActiveConnections() > 0) {
+            if (System.nanoTime() > deadline) {
+                logger.warn("Réplica {} : lectures toujours en cours, copie forcée", replica.getName());
+                return;
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
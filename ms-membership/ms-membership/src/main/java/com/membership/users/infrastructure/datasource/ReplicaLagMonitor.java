@@ -0,0 +1,80 @@
+package com.membership.users.infrastructure.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Mesure le retard des réplicas : le primaire écrit un battement horodaté,
+ * chaque réplica relit le dernier battement qu'il a reçu.
+ * Un réplica qui ne répond pas est retiré de la rotation jusqu'au prochain contrôle réussi.
+ * Un réplica n'entre en rotation qu'au premier contrôle réussi : vide au démarrage, il ne sert aucune lecture.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final TransactionTemplate primaryTransaction;
+    private final ReplicaRoutingDataSource routing;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, ReplicaRoutingDataSource routing) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.primaryTransaction = new TransactionTemplate(new DataSourceTransactionManager(primaryDataSource));
+        this.routing = routing;
+    }
+
+    @Scheduled(initialDelayString = "${datasource.routing.lag-check-interval:PT1S}",
+            fixedDelayString = "${datasource.routing.lag-check-interval:PT1S}")
+    public synchronized void checkLag() {
+        Instant now = Instant.now();
+        try {
+            try {
+                beat(now);
+            } catch (DuplicateKeyException ex) {
+                // Première ligne insérée au même moment par une autre instance : elle existe désormais
+                beat(now);
+            }
+        } catch (DataAccessException ex) {
+            logger.warn("Écriture du battement de réplication impossible: {}", ex.getMessage());
+            return;
+        }
+
+        for (ReplicaRoutingDataSource.Replica replica : routing.getReplicas()) {
+            checkReplica(replica, now);
+        }
+    }
+
+    // SQL portable (H2, PostgreSQL...) : UPDATE de la ligne unique, INSERT au premier battement
+    private void beat(Instant now) {
+        primaryTransaction.executeWithoutResult(status -> {
+            primary.execute("CREATE TABLE IF NOT EXISTS replication_heartbeat "
+                    + "(id INT PRIMARY KEY, beat_at TIMESTAMP NOT NULL)");
+            Timestamp beatAt = Timestamp.from(now);
+            if (primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", beatAt) == 0) {
+                primary.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", beatAt);
+            }
+        });
+    }
+
+    void checkReplica(ReplicaRoutingDataSource.Replica replica, Instant now) {
+        try {
+            Timestamp lastBeat = new JdbcTemplate(replica.getDataSource().getTargetDataSource())
+                    .queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Timestamp.class);
+            replica.updateLag(Duration.between(lastBeat.toInstant(), now));
+        } catch (DataAccessException ex) {
+            logger.debug("Réplica {} injoignable: {}", replica.getName(), ex.getMessage());
+            replica.markUnavailable();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.membership.users.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TurboFilter Logback qui n'émet qu'un message sur {@code rate} pour un logger donné.
+ * Best practices :
+ * - Filtrage avant la création de l'événement (coût quasi nul pour les messages écartés)
+ * - Seuls les niveaux inférieurs ou égaux à {@code level} sont échantillonnés, WARN/ERROR passent toujours
+ * - Les messages écartés sont comptés et exposés via Micrometer (LoggingMetrics)
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private static final AtomicLong REJECTED = new AtomicLong();
+
+    private final AtomicLong seen = new AtomicLong();
+
+    private String loggerName = "";
+    private int rate = 1;
+    private Level level = Level.INFO;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel,
+                              String format, Object[] params, Throwable t) {
+        // format == null : simple appel isXxxEnabled(), on ne l'échantillonne pas
+        if (!isStarted() || rate <= 1 || format == null
+                || eventLevel.toInt() > level.toInt()
+                || !eventLevel.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !logger.getName().startsWith(loggerName)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if (seen.getAndIncrement() % rate == 0) {
+            return FilterReply.NEUTRAL;
+        }
+
+        REJECTED.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    public static long rejected() {
+        return REJECTED.get();
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+}
@@ -0,0 +1,39 @@
+package com.membership.users.infrastructure.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expose les compteurs du logging asynchrone et de l'échantillonnage.
+ * Best practice : surveiller les pertes de logs plutôt que de les subir en silence
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", MeteredAsyncAppender.class,
+                        appender -> MeteredAsyncAppender.queueFullDrops())
+                .description("Événements de log perdus par l'appender asynchrone")
+                .tag("reason", "queue_full")
+                .register(registry);
+
+        FunctionCounter.builder("logging.events.dropped", MeteredAsyncAppender.class,
+                        appender -> MeteredAsyncAppender.thresholdDiscards())
+                .description("Événements de log perdus par l'appender asynchrone")
+                .tag("reason", "discarding_threshold")
+                .register(registry);
+
+        FunctionCounter.builder("logging.events.sampled.out", LogSamplingFilter.class,
+                        filter -> LogSamplingFilter.rejected())
+                .description("Événements de log écartés par l'échantillonnage")
+                .register(registry);
+
+        Gauge.builder("logging.async.queue.size", MeteredAsyncAppender::queueSize)
+                .description("Événements en attente dans la file de l'appender asynchrone")
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.membership.users.infrastructure.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/traces : dernières traces exportées localement ; /actuator/traces/{traceId} :
+ * spans de la trace (requête HTTP, requêtes JDBC), dans l'ordre de début.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int RECENT_TRACES = 100;
+
+    private final LocalSpanExporter exporter;
+
+    public TracesEndpoint(LocalSpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public List<LocalSpanExporter.TraceSummary> traces() {
+        return exporter.recentTraces(RECENT_TRACES);
+    }
+
+    @ReadOperation
+    public List<LocalSpanExporter.LocalSpan> trace(@Selector String traceId) {
+        return exporter.trace(traceId);
+    }
+}
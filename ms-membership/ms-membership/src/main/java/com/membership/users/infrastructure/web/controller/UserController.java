@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +20,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import com.membership.users.application.dto.UserRequestDTO;
 import com.membership.users.application.dto.UserResponseDTO;
 import com.membership.users.application.service.UserService;
+import com.membership.users.infrastructure.web.ResourceVersion;
 
 import java.net.URI;
 import java.util.List;
@@ -35,6 +37,7 @@ import java.util.List;
  * - Validation des données avec @Valid
  * - ResponseEntity pour un contrôle total de la réponse
  * - Location header pour les ressources créées
+ * - GET conditionnels (ETag / Last-Modified) : 304 sans charger ni sérialiser les données
  * - Séparation des préoccupations (délégation au service)
  */
 @Slf4j
@@ -49,22 +52,29 @@ public class UserController {
      * GET /api/v1/users
      * Récupère la liste de tous les utilisateurs
      * 
-     * @return Liste des utilisateurs avec code 200 OK
+     * @param headers En-têtes de la requête (If-None-Match / If-Modified-Since)
+     * @return Liste des utilisateurs avec code 200 OK, ou 304 NOT MODIFIED
      */
     @Operation(summary = "Récupérer tous les utilisateurs", 
                description = "Retourne la liste complète de tous les utilisateurs enregistrés")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste récupérée avec succès",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                     schema = @Schema(implementation = UserResponseDTO.class)))
+                                     schema = @Schema(implementation = UserResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Liste inchangée", content = @Content)
     })
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
+    public ResponseEntity<List<UserResponseDTO>> getAllUsers(@RequestHeader HttpHeaders headers) {
         log.info("GET /api/v1/users - Récupération de tous les utilisateurs");
-        
+
+        ResourceVersion version = userService.getAllUsersVersion();
+        if (version.isNotModified(headers)) {
+            return version.notModified();
+        }
+
         List<UserResponseDTO> users = userService.getAllUsers();
         
-        return ResponseEntity.ok(users);
+        return listVersion(users);
     }
 
     /**
@@ -72,7 +82,8 @@ public class UserController {
      * Récupère un utilisateur par son ID
      * 
      * @param id L'identifiant de l'utilisateur
-     * @return L'utilisateur avec code 200 OK ou 404 NOT FOUND
+     * @param headers En-têtes de la requête (If-None-Match / If-Modified-Since)
+     * @return L'utilisateur avec code 200 OK, 304 NOT MODIFIED ou 404 NOT FOUND
      */
     @Operation(summary = "Récupérer un utilisateur par ID", 
                description = "Retourne un utilisateur spécifique basé sur son ID")
@@ -80,19 +91,53 @@ public class UserController {
         @ApiResponse(responseCode = "200", description = "Utilisateur trouvé",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                                      schema = @Schema(implementation = UserResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Utilisateur inchangé", content = @Content),
         @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé",
                     content = @Content)
     })
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<UserResponseDTO> getUserById(
             @Parameter(description = "ID de l'utilisateur", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @RequestHeader HttpHeaders headers) {
         
         log.info("GET /api/v1/users/{} - Récupération de l'utilisateur", id);
-        
+
+        // Best practice : valider la version (une colonne) avant de charger l'entité
+        ResourceVersion version = userService.getUserVersion(id);
+        if (version.isNotModified(headers)) {
+            return version.notModified();
+        }
+
         UserResponseDTO user = userService.getUserById(id);
         
-        return ResponseEntity.ok(user);
+        return ResourceVersion.of(user.getId(), user.getUpdatedAt()).ok(user);
+    }
+
+    /**
+     * GET /api/v1/users/batch?ids=1,2,3
+     * Récupère plusieurs utilisateurs en un appel (au plus 100 IDs)
+     * 
+     * @param ids Les identifiants recherchés
+     * @return Les utilisateurs trouvés (les IDs inconnus sont absents de la liste)
+     */
+    @Operation(summary = "Récupérer des utilisateurs par lot d'IDs", 
+               description = "Retourne les utilisateurs existants parmi les IDs fournis, en une requête")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Utilisateurs trouvés",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                     schema = @Schema(implementation = UserResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Plus de 100 IDs", content = @Content)
+    })
+    @GetMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<UserResponseDTO>> getUsersByIds(
+            @Parameter(description = "IDs des utilisateurs, séparés par des virgules", required = true)
+            @RequestParam List<Long> ids) {
+
+        log.debug("GET /api/v1/users/batch - Récupération de {} utilisateurs", ids.size());
+
+        // Best practice : pas d'ETag sur un lot ad hoc, rarement redemandé à l'identique
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
     }
 
     /**
@@ -223,7 +268,8 @@ public class UserController {
         
         List<UserResponseDTO> users = userService.searchUsersByLastName(lastName);
         
-        return ResponseEntity.ok(users);
+        // Pas de pré-validation pour une recherche : l'ETag évite tout de même la sérialisation
+        return listVersion(users);
     }
 
     /**
@@ -240,12 +286,17 @@ public class UserController {
                                      schema = @Schema(implementation = UserResponseDTO.class)))
     })
     @GetMapping(value = "/active", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<UserResponseDTO>> getActiveUsers() {
+    public ResponseEntity<List<UserResponseDTO>> getActiveUsers(@RequestHeader HttpHeaders headers) {
         log.info("GET /api/v1/users/active - Récupération des utilisateurs actifs");
-        
+
+        ResourceVersion version = userService.getActiveUsersVersion();
+        if (version.isNotModified(headers)) {
+            return version.notModified();
+        }
+
         List<UserResponseDTO> users = userService.getActiveUsers();
         
-        return ResponseEntity.ok(users);
+        return listVersion(users);
     }
 
     /**
@@ -275,4 +326,13 @@ public class UserController {
         
         return ResponseEntity.ok(deactivatedUser);
     }
+
+    /**
+     * Réponse 200 avec ETag / Last-Modified calculés sur la liste renvoyée
+     * (l'ETag correspond toujours au corps)
+     */
+    private static ResponseEntity<List<UserResponseDTO>> listVersion(List<UserResponseDTO> users) {
+        return ResourceVersion.ofAll(users, UserResponseDTO::getId, UserResponseDTO::getUpdatedAt)
+                .ok(users);
+    }
 }
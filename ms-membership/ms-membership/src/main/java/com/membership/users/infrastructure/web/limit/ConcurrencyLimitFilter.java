@@ -0,0 +1,120 @@
+package com.membership.users.infrastructure.web.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.membership.users.infrastructure.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Limitation de concurrence à l'entrée du service, une GradientLimit par groupe (lectures,
+ * écritures) : au-delà de la limite, 503 immédiat avec Retry-After plutôt qu'une attente
+ * de thread Tomcat. Actuator, console H2 et documentation ne sont jamais limités.
+ * Métriques http.server.concurrency.limit, http.server.concurrency.inflight et
+ * http.server.requests.shed, étiquetées group=read|write.
+ * Placé juste après l'observation HTTP : les rejets apparaissent dans http.server.requests.
+ * Best practice : rejeter tôt et vite (load shedding) plutôt que laisser une file d'attente
+ * gonfler la latence de toutes les requêtes ; le client réessaie après Retry-After.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final List<String> UNLIMITED_PATHS = List.of("/actuator", "/h2-console", "/swagger-ui", "/v3/api-docs");
+
+    private final GradientLimit read;
+    private final GradientLimit write;
+    private final Counter readShed;
+    private final Counter writeShed;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.read = limit(properties.getRead());
+        this.write = limit(properties.getWrite());
+        this.readShed = register("read", read, meterRegistry);
+        this.writeShed = register("write", write, meterRegistry);
+        this.retryAfterSeconds = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return UNLIMITED_PATHS.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean isRead = READ_METHODS.contains(request.getMethod());
+        GradientLimit limit = isRead ? read : write;
+        if (!limit.tryAcquire()) {
+            (isRead ? readShed : writeShed).increment();
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpServletResponse.SC_SERVICE_UNAVAILABLE)
+                .error("Service Unavailable")
+                .message("Service saturé, réessayer plus tard")
+                .path(request.getRequestURI())
+                .build());
+    }
+
+    private static GradientLimit limit(ConcurrencyLimitProperties.Group group) {
+        return new GradientLimit(group.getInitial(), group.getMin(), group.getMax());
+    }
+
+    private static Counter register(String group, GradientLimit limit, MeterRegistry meterRegistry) {
+        Gauge.builder("http.server.concurrency.limit", limit, GradientLimit::limit)
+                .description("Requêtes simultanées admises")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.inflight", limit, GradientLimit::inflight)
+                .description("Requêtes en cours")
+                .tag("group", group)
+                .register(meterRegistry);
+        return Counter.builder("http.server.requests.shed")
+                .description("Requêtes rejetées (503) par la limite de concurrence")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.membership.users.infrastructure.web.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Valeur de Retry-After des requêtes rejetées
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    // Lectures (GET, HEAD, OPTIONS)
+    private Group read = new Group(50, 10, 200);
+
+    // Écritures (POST, PUT, PATCH, DELETE) : limite propre, une dépendance lente ne bloque pas les lectures
+    private Group write = new Group(20, 4, 100);
+
+    @Data
+    public static class Group {
+        private int initial;
+        private int min;
+        private int max;
+
+        public Group() {
+        }
+
+        Group(int initial, int min, int max) {
+            this.initial = initial;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.membership.users;
+
+import com.membership.users.domain.entity.User;
+import com.membership.users.domain.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesure le débit de GET /api/v1/users/{id} avec la configuration de logs
+ * par défaut (console synchrone, SQL affiché) puis avec le profil prod
+ * (JSON asynchrone, échantillonnage). Hors suite de tests (deux contextes complets et
+ * plusieurs secondes de charge) :
+ *
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      com.membership.users.LoggingProfileThroughputBenchmark --threads=8 --warmup=2 --measure=5
+ */
+public class LoggingProfileThroughputBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parse(args);
+		int threads = Integer.parseInt(options.getOrDefault("threads", "8"));
+		Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "2")));
+		Duration measure = Duration.ofSeconds(Long.parseLong(options.getOrDefault("measure", "5")));
+
+		double dev = requestsPerSecond("default", threads, warmup, measure);
+		double prod = requestsPerSecond("prod", threads, warmup, measure);
+
+		System.out.printf("GET /api/v1/users/{id} : default=%.0f req/s, prod=%.0f req/s%n", dev, prod);
+	}
+
+	private static double requestsPerSecond(String profile, int threads, Duration warmup, Duration measure)
+			throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MembershipApplication.class)
+				.profiles(profile)
+				// Sécurité désactivée : on ne mesure que le coût de la requête et des logs
+				.properties("server.port=0",
+						"spring.autoconfigure.exclude="
+								+ "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+								+ "org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration,"
+								+ "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration")
+				.run()) {
+
+			User user = context.getBean(UserRepository.class).save(User.builder()
+					.firstName("Bench")
+					.lastName("Mark")
+					.email("bench@example.com")
+					.active(true)
+					.build());
+
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			HttpRequest request = HttpRequest.newBuilder(
+							URI.create("http://localhost:" + port + "/api/v1/users/" + user.getId()))
+					.GET()
+					.build();
+
+			run(request, threads, warmup);
+			return run(request, threads, measure) / (measure.toMillis() / 1000.0);
+		}
+	}
+
+	private static long run(HttpRequest request, int threads, Duration duration) throws Exception {
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.build();
+		AtomicBoolean running = new AtomicBoolean(true);
+		LongAdder completed = new LongAdder();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		List<Future<?>> workers = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			workers.add(executor.submit(() -> {
+				while (running.get()) {
+					HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+					if (response.statusCode() == 200) {
+						completed.increment();
+					}
+				}
+				return null;
+			}));
+		}
+
+		Thread.sleep(duration.toMillis());
+		running.set(false);
+		for (Future<?> worker : workers) {
+			worker.get();
+		}
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+		return completed.sum();
+	}
+
+	private static Map<String, String> parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+			options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+		}
+		return options;
+	}
+}
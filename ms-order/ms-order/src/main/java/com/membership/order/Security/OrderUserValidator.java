@@ -0,0 +1,91 @@
+package com.membership.order.Security;
+
+import com.membership.order.infrastructure.client.UserClient;
+import com.membership.order.infrastructure.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Validation de l'utilisateur d'une commande. Mode token : le principal vérifié par
+ * JwtAuthenticationFilter fait foi quand il correspond à userId, sans appel à ms-membership ;
+ * commande pour un autre utilisateur réservée aux rôles ADMIN et SERVICE, existence vérifiée à
+ * distance, réponses positives en cache ; requête anonyme : appel à ms-membership sans cache.
+ * Le 403 protège le cache et le chemin sans appel distant, pas l'accès : les commandes anonymes
+ * restant acceptées (SecurityConfig), n'importe quel userId existant peut être commandé sans jeton.
+ * Mode remote : appel à chaque commande.
+ * Compteur orders.user.validation{source=token|cache|remote}.
+ */
+@Component
+public class OrderUserValidator {
+
+    private static final Set<String> ON_BEHALF_AUTHORITIES = Set.of("ROLE_ADMIN", "ROLE_SERVICE");
+
+    private final UserClient userClient;
+    private final boolean trustToken;
+    private final Counter byToken;
+    private final Counter byCache;
+    private final Counter byRemote;
+
+    public OrderUserValidator(UserClient userClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${orders.user-validation.mode:token}") String mode) {
+        this.userClient = userClient;
+        this.trustToken = "token".equalsIgnoreCase(mode);
+        this.byToken = counter(meterRegistry, "token");
+        this.byCache = counter(meterRegistry, "cache");
+        this.byRemote = counter(meterRegistry, "remote");
+    }
+
+    public void validate(Long userId) {
+        if (!trustToken) {
+            byRemote.increment();
+            requireExisting(userId, userClient.userExists(userId));
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long principal = authentication != null && authentication.getPrincipal() instanceof Long id ? id : null;
+        if (principal == null) {
+            byRemote.increment();
+            requireExisting(userId, userClient.userExists(userId));
+            return;
+        }
+        if (principal.equals(userId)) {
+            byToken.increment();
+            return;
+        }
+        if (!actsOnBehalf(authentication)) {
+            throw new AccessDeniedException(
+                    "L'utilisateur " + principal + " ne peut pas commander pour l'utilisateur " + userId);
+        }
+        byCache.increment();
+        requireExisting(userId, userClient.userExistsCached(userId));
+    }
+
+    private static boolean actsOnBehalf(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(ON_BEHALF_AUTHORITIES::contains);
+    }
+
+    private static void requireExisting(Long userId, boolean exists) {
+        if (!exists) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("orders.user.validation")
+                .description("Validations d'utilisateur de commande par source")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.membership.order.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusOutcomeDTO {
+
+    private Long id;
+    private Outcome outcome;
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        // Commande DELIVERED ou CANCELLED : non modifiable
+        REJECTED,
+        // Erreur sur le lot : rien n'a été modifié pour cette commande
+        FAILED
+    }
+}
@@ -0,0 +1,35 @@
+package com.membership.order.application.dto;
+
+import com.membership.order.domain.entity.OrderStatus;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Changement de statut d'un lot : liste d'ids, ou filtre currentStatus (+ orderedBefore,
+ * par défaut le début de l'appel).
+ */
+@Data
+public class BulkStatusUpdateRequestDTO {
+
+    public static final int MAX_IDS = 50_000;
+
+    @NotNull
+    private OrderStatus status;
+
+    @Size(max = MAX_IDS)
+    private List<@NotNull Long> ids;
+
+    private OrderStatus currentStatus;
+
+    private LocalDateTime orderedBefore;
+
+    @AssertTrue(message = "Renseigner soit ids, soit currentStatus")
+    public boolean isSelectionValid() {
+        return (ids != null && !ids.isEmpty()) != (currentStatus != null);
+    }
+}
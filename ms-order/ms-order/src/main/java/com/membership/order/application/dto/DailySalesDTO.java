@@ -0,0 +1,20 @@
+package com.membership.order.application.dto;
+
+import com.membership.order.domain.entity.OrderStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+public class DailySalesDTO {
+
+    private LocalDate date;
+    // Commandes et montant hors annulations
+    private long orderCount;
+    private BigDecimal revenue;
+    private Map<OrderStatus, Long> ordersByStatus;
+    private Map<OrderStatus, BigDecimal> revenueByStatus;
+
+}
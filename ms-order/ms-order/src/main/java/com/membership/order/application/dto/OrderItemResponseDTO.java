@@ -1,9 +1,8 @@
 package com.membership.order.application.dto;
 
+import com.membership.order.domain.value.Money;
 import lombok.Data;
 
-import java.math.BigDecimal;
-
 @Data
 public class OrderItemResponseDTO {
 
@@ -11,7 +10,7 @@ public class OrderItemResponseDTO {
     private Long productId;
     private String productName;
     private Integer quantity;
-    private BigDecimal unitPrice;
-    private BigDecimal subtotal;
+    private Money unitPrice;
+    private Money subtotal;
 
 }
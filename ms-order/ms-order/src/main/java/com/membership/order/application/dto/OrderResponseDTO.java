@@ -1,9 +1,9 @@
 package com.membership.order.application.dto;
 
 import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.value.Money;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -14,7 +14,7 @@ public class OrderResponseDTO {
     private Long userId;
     private LocalDateTime orderDate;
     private OrderStatus status;
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     private String shippingAddress;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
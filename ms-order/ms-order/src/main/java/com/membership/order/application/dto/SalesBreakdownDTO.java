@@ -0,0 +1,16 @@
+package com.membership.order.application.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class SalesBreakdownDTO {
+
+    // Renseigné pour la ventilation par produit uniquement
+    private Long productId;
+    private String category;
+    private long quantity;
+    private BigDecimal revenue;
+
+}
@@ -0,0 +1,21 @@
+package com.membership.order.application.dto;
+
+import com.membership.order.domain.entity.OrderStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class UserOrderSummaryDTO {
+
+    private Long userId;
+    private long totalOrders;
+    private Map<OrderStatus, Long> ordersByStatus;
+    private BigDecimal lifetimeSpend;
+    private LocalDateTime lastOrderDate;
+    private List<Long> recentOrderIds;
+
+}
@@ -0,0 +1,32 @@
+package com.membership.order.application.mapper;
+
+import com.membership.order.application.dto.UserOrderSummaryDTO;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.entity.UserOrderSummary;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class UserOrderSummaryMapper {
+
+    private UserOrderSummaryMapper() {
+    }
+
+    public static UserOrderSummaryDTO toResponse(UserOrderSummary summary) {
+        UserOrderSummaryDTO dto = new UserOrderSummaryDTO();
+
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, summary.getCount(status));
+        }
+
+        dto.setUserId(summary.getUserId());
+        dto.setTotalOrders(summary.getTotalOrders());
+        dto.setOrdersByStatus(byStatus);
+        dto.setLifetimeSpend(summary.getLifetimeSpend());
+        dto.setLastOrderDate(summary.getLastOrderDate());
+        dto.setRecentOrderIds(summary.getRecentOrderIdList());
+
+        return dto;
+    }
+}
@@ -0,0 +1,182 @@
+package com.membership.order.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.membership.order.application.dto.OrderResponseDTO;
+import com.membership.order.application.mapper.OrderMapper;
+import com.membership.order.domain.entity.ArchivedOrder;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.repository.ArchivedOrderRepository;
+import com.membership.order.domain.repository.OrderItemRepository;
+import com.membership.order.domain.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archivage des commandes terminées : les commandes DELIVERED / CANCELLED non modifiées depuis
+ * orders.archive.after passent de orders / order_items à orders_archive (JSON gzip), par
+ * tranches d'une transaction. Les lectures par id et par utilisateur n'y cherchent qu'en
+ * l'absence de la commande dans la table chaude.
+ * Métriques : orders.archive.size, orders.archive.bytes, orders.archive.archived, orders.archive.run.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveService.class);
+    private static final Set<OrderStatus> TERMINAL = Set.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderRepository archiveRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration after;
+    private final int chunkSize;
+    private final AtomicLong archivedOrders = new AtomicLong();
+    private final AtomicLong archivedBytes = new AtomicLong();
+    private final Counter archived;
+    private final Timer runs;
+
+    public OrderArchiveService(OrderRepository orderRepository,
+                               OrderItemRepository orderItemRepository,
+                               ArchivedOrderRepository archiveRepository,
+                               ObjectMapper objectMapper,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${orders.archive.after:90d}") Duration after,
+                               @Value("${orders.archive.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.archiveRepository = archiveRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.after = after;
+        this.chunkSize = chunkSize;
+
+        Gauge.builder("orders.archive.size", archivedOrders, AtomicLong::get)
+                .description("Commandes archivées")
+                .register(meterRegistry);
+        Gauge.builder("orders.archive.bytes", archivedBytes, AtomicLong::get)
+                .description("Taille compressée des commandes archivées")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.archived = Counter.builder("orders.archive.archived")
+                .description("Commandes déplacées vers l'archive")
+                .register(meterRegistry);
+        this.runs = Timer.builder("orders.archive.run")
+                .description("Durée d'un passage d'archivage")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshSize() {
+        ArchivedOrderRepository.ArchiveSize size = archiveRepository.size();
+        archivedOrders.set(size.getOrders());
+        archivedBytes.set(size.getBytes());
+    }
+
+    // Un passage complet : toutes les commandes éligibles au moment de l'appel
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int archive() {
+        LocalDateTime before = LocalDateTime.now().minus(after);
+        int total = runs.record(() -> {
+            int moved = 0;
+            while (true) {
+                Integer chunk = transactionTemplate.execute(status -> archiveChunk(before));
+                if (chunk == null || chunk == 0) {
+                    return moved;
+                }
+                moved += chunk;
+                archived.increment(chunk);
+            }
+        });
+        refreshSize();
+        if (total > 0) {
+            logger.info("{} commandes terminées archivées (modifiées avant {})", total, before);
+        }
+        return total;
+    }
+
+    private int archiveChunk(LocalDateTime before) {
+        List<Long> ids = orderRepository.findArchivableIds(TERMINAL, before, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ArchivedOrder> rows = orderRepository.findWithItemsByIdIn(ids).stream()
+                .map(order -> new ArchivedOrder(order, compress(OrderMapper.toResponse(order)), now))
+                .toList();
+        archiveRepository.saveAll(rows);
+        archiveRepository.flush();
+        orderItemRepository.deleteByOrderIdIn(ids);
+        orderRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+
+    public Optional<OrderResponseDTO> findById(Long id) {
+        return archiveRepository.findById(id).map(archivedOrder -> decompress(archivedOrder.getPayload()));
+    }
+
+    public List<OrderResponseDTO> findByUserId(Long userId) {
+        return archiveRepository.findByUserIdOrderById(userId).stream()
+                .map(archivedOrder -> decompress(archivedOrder.getPayload()))
+                .toList();
+    }
+
+    public boolean hasOrders(Long userId) {
+        return archiveRepository.existsByUserId(userId);
+    }
+
+    public Optional<LocalDateTime> findUpdatedAtById(Long id) {
+        return archiveRepository.findUpdatedAtById(id);
+    }
+
+    public OrderRepository.VersionStamp stampByUserId(Long userId) {
+        return archiveRepository.stampByUserId(userId);
+    }
+
+    private byte[] compress(OrderResponseDTO order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, order);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private OrderResponseDTO decompress(byte[] payload) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(gzip, OrderResponseDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,51 +1,124 @@
 package com.membership.order.application.service;
 
+import com.membership.order.Security.OrderUserValidator;
+import com.membership.order.application.dto.BulkStatusOutcomeDTO;
+import com.membership.order.application.dto.BulkStatusUpdateRequestDTO;
 import com.membership.order.application.dto.OrderItemRequestDTO;
 import com.membership.order.application.dto.OrderRequestDTO;
 import com.membership.order.application.dto.OrderResponseDTO;
+import com.membership.order.application.dto.UserOrderSummaryDTO;
 import com.membership.order.application.mapper.OrderMapper;
 import com.membership.order.domain.entity.Order;
 import com.membership.order.domain.entity.OrderItem;
 import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.entity.UserOrderSummary;
+import com.membership.order.domain.repository.OrderItemRepository;
 import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.value.Money;
 import com.membership.order.infrastructure.client.ProductClient;
-import com.membership.order.infrastructure.client.UserClient;
 import com.membership.order.infrastructure.client.dto.ProductDTO;
 import com.membership.order.infrastructure.exception.ResourceNotFoundException;
 import com.membership.order.infrastructure.metrics.OrderMetrics;
+import com.membership.order.infrastructure.tracing.OrderStages;
+import com.membership.order.infrastructure.web.ResourceVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class OrderService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
+
     private final OrderRepository orderRepository;
-    private final UserClient userClient;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderUserValidator userValidator;
     private final ProductClient productClient;
     private final OrderMetrics orderMetrics;
+    private final UserOrderSummaryService summaryService;
+    private final SalesAnalyticsService analyticsService;
+    private final OrderArchiveService archiveService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderStages stages;
+    private final boolean releaseConnectionDuringRemoteCalls;
+    private final int bulkChunkSize;
 
     public OrderService(OrderRepository orderRepository,
-                        UserClient userClient,
+                        OrderItemRepository orderItemRepository,
+                        OrderUserValidator userValidator,
                         ProductClient productClient,
-                        OrderMetrics orderMetrics) {
+                        OrderMetrics orderMetrics,
+                        UserOrderSummaryService summaryService,
+                        SalesAnalyticsService analyticsService,
+                        OrderArchiveService archiveService,
+                        TransactionTemplate transactionTemplate,
+                        OrderStages stages,
+                        @Value("${orders.transactions.release-connection-during-remote-calls:false}")
+                        boolean releaseConnectionDuringRemoteCalls,
+                        @Value("${orders.bulk-status.chunk-size:500}") int bulkChunkSize) {
         this.orderRepository = orderRepository;
-        this.userClient = userClient;
+        this.orderItemRepository = orderItemRepository;
+        this.userValidator = userValidator;
         this.productClient = productClient;
         this.orderMetrics = orderMetrics;
+        this.summaryService = summaryService;
+        this.analyticsService = analyticsService;
+        this.archiveService = archiveService;
+        this.transactionTemplate = transactionTemplate;
+        this.stages = stages;
+        this.releaseConnectionDuringRemoteCalls = releaseConnectionDuringRemoteCalls;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
+    /*
+     * createOrder et cancelOrder appellent ms-membership / ms-product.
+     * Quand orders.transactions.release-connection-during-remote-calls est actif,
+     * ces appels sont faits hors transaction : la connexion JDBC n'est tenue
+     * que pendant le travail local (lecture / écriture de la commande).
+     * Les appels de stock ne sont jamais annulés par un rollback : les réservations déjà faites
+     * sont rendues si la commande n'est pas enregistrée, et une restitution en échec est
+     * journalisée en ERROR (orders.stock.restore.failed) pour être rejouée.
+     */
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponseDTO createOrder(OrderRequestDTO dto) {
+        List<OrderItem> reserved = new ArrayList<>();
+        try {
+            // Étape save : les INSERT groupés ne partent qu'au commit, compté dans l'étape quand la transaction ne couvre que l'écriture
+            if (releaseConnectionDuringRemoteCalls) {
+                Order order = prepareOrder(dto, reserved);
+                return stages.observe(OrderStages.SAVE, () -> transactionTemplate.execute(status -> saveNewOrder(order)));
+            }
+            return transactionTemplate.execute(status -> {
+                Order order = prepareOrder(dto, reserved);
+                return stages.observe(OrderStages.SAVE, () -> saveNewOrder(order));
+            });
+        } catch (RuntimeException e) {
+            // Commande non enregistrée : stock déjà réservé rendu
+            restoreStock(null, reserved);
+            throw e;
+        }
+    }
 
+    private Order prepareOrder(OrderRequestDTO dto, List<OrderItem> reserved) {
 
-        if (!userClient.userExists(dto.getUserId())) {
-            throw new ResourceNotFoundException("User", "id", dto.getUserId());
-        }
+
+        stages.observe(OrderStages.VALIDATE_USER, () -> userValidator.validate(dto.getUserId()));
 
 
         if (dto.getItems() == null || dto.getItems().isEmpty()) {
@@ -60,12 +133,14 @@ public class OrderService {
         order.setCreatedAt(LocalDateTime.now());
         order.setUpdatedAt(LocalDateTime.now());
 
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        // Centimes cumulés en long : un seul Money pour le total
+        long totalMinorUnits = 0;
 
 
         for (OrderItemRequestDTO itemDto : dto.getItems()) {
 
-            ProductDTO product = productClient.getProduct(itemDto.getProductId());
+            ProductDTO product = stages.observe(OrderStages.FETCH_PRODUCT, itemDto.getProductId(),
+                    () -> productClient.getProduct(itemDto.getProductId()));
 
             if (product.getStock() < itemDto.getQuantity()) {
                 throw new IllegalStateException(
@@ -76,37 +151,94 @@ public class OrderService {
             OrderItem item = new OrderItem();
             item.setProductId(product.getId());
             item.setProductName(product.getName());
+            item.setProductCategory(product.getCategory());
             item.setQuantity(itemDto.getQuantity());
             item.setUnitPrice(product.getPrice());
 
-            BigDecimal subtotal = product.getPrice()
-                    .multiply(BigDecimal.valueOf(itemDto.getQuantity()));
+            Money subtotal = product.getPrice().times(itemDto.getQuantity());
 
             item.setSubtotal(subtotal);
             item.setOrder(order);
 
             order.getItems().add(item);
-            totalAmount = totalAmount.add(subtotal);
+            totalMinorUnits = Math.addExact(totalMinorUnits, subtotal.minorUnits());
 
 
-            productClient.updateStock(
+            stages.observe(OrderStages.RESERVE_STOCK, product.getId(), () -> productClient.updateStock(
                     product.getId(),
                     -itemDto.getQuantity()
-            );
+            ));
+            reserved.add(item);
 
         }
 
-        order.setTotalAmount(totalAmount);
+        order.setTotalAmount(Money.ofMinor(totalMinorUnits));
 
-        Order saved = orderRepository.save(order);
+        return order;
+    }
+
+    private OrderResponseDTO saveNewOrder(Order order) {
 
+        Order saved = orderRepository.save(order);
+        stages.observe(OrderStages.READ_MODELS, () -> {
+            summaryService.recordNewOrder(saved);
+            analyticsService.recordNewOrder(saved);
+        });
 
         orderMetrics.incrementStatus(OrderStatus.PENDING);
-        orderMetrics.addRevenue(totalAmount);
+        orderMetrics.addRevenue(saved.getTotalAmount());
 
         return OrderMapper.toResponse(saved);
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion getOrderVersion(Long id) {
+        return orderRepository.findUpdatedAtById(id)
+                .or(() -> archiveService.findUpdatedAtById(id))
+                .map(updatedAt -> ResourceVersion.of(id, updatedAt))
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Order", "id", id));
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getAllOrdersVersion() {
+        return toVersion(orderRepository.stampAll());
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getOrdersByUserVersion(Long userId) {
+        Optional<UserOrderSummary> summary = summaryService.findSummary(userId);
+        OrderRepository.VersionStamp hot = summary.filter(OrderService::hasOrderDateBounds)
+                .map(s -> orderRepository.stampByUserIdAndOrderDateBetween(
+                        userId, s.getFirstOrderDate(), s.getLastOrderDate()))
+                .orElseGet(() -> orderRepository.stampByUserId(userId));
+        if (!archiveService.hasOrders(userId)) {
+            return toVersion(hot);
+        }
+        OrderRepository.VersionStamp archived = archiveService.stampByUserId(userId);
+        LocalDateTime lastUpdatedAt = hot.getLastUpdatedAt() == null
+                || (archived.getLastUpdatedAt() != null && archived.getLastUpdatedAt().isAfter(hot.getLastUpdatedAt()))
+                ? archived.getLastUpdatedAt() : hot.getLastUpdatedAt();
+        return ResourceVersion.ofStamp(hot.getTotal() + archived.getTotal(),
+                hot.getIdSum() + archived.getIdSum(), lastUpdatedAt);
+    }
+
+    // Bornes fiables seulement si le résumé compte toutes les commandes (voir UserOrderSummaryBackfill) :
+    // sinon lecture non bornée, des commandes antérieures au résumé seraient hors bornes
+    private static boolean hasOrderDateBounds(UserOrderSummary summary) {
+        return summary.isComplete() && summary.getFirstOrderDate() != null && summary.getLastOrderDate() != null;
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getOrdersByStatusVersion(OrderStatus status) {
+        return toVersion(orderRepository.stampByStatus(status));
+    }
+
+    private static ResourceVersion toVersion(OrderRepository.VersionStamp stamp) {
+        return ResourceVersion.ofStamp(stamp.getTotal(), stamp.getIdSum(), stamp.getLastUpdatedAt());
+    }
+
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getAllOrders() {
         return orderRepository.findAll()
                 .stream()
@@ -114,20 +246,38 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public OrderResponseDTO getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        return orderRepository.findById(id)
+                .map(OrderMapper::toResponse)
+                .or(() -> archiveService.findById(id))
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Order", "id", id));
-        return OrderMapper.toResponse(order);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getOrdersByUser(Long userId) {
-        return orderRepository.findByUserId(userId)
+        Optional<UserOrderSummary> summary = summaryService.findSummary(userId);
+        List<OrderResponseDTO> orders = summary.filter(OrderService::hasOrderDateBounds)
+                .map(s -> orderRepository.findByUserIdAndOrderDateBetween(
+                        userId, s.getFirstOrderDate(), s.getLastOrderDate()))
+                .orElseGet(() -> orderRepository.findByUserId(userId))
                 .stream()
                 .map(OrderMapper::toResponse)
                 .collect(Collectors.toList());
+        // Archive lue seulement si l'utilisateur y a des commandes (index user_id, sans dépendre du résumé)
+        if (archiveService.hasOrders(userId)) {
+            orders.addAll(archiveService.findByUserId(userId));
+        }
+        return orders;
+    }
+
+    @Transactional(readOnly = true)
+    public UserOrderSummaryDTO getUserSummary(Long userId) {
+        return summaryService.getSummary(userId);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getOrdersByStatus(OrderStatus status) {
         return orderRepository.findByStatus(status)
                 .stream()
@@ -148,15 +298,128 @@ public class OrderService {
             );
         }
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(newStatus);
         order.setUpdatedAt(LocalDateTime.now());
+        summaryService.recordStatusChange(order, previousStatus);
+        analyticsService.recordStatusChange(order, previousStatus);
 
         orderMetrics.incrementStatus(newStatus);
 
         return OrderMapper.toResponse(order);
     }
 
+    /*
+     * Changement de statut d'un lot, mêmes règles que updateOrderStatus (commandes DELIVERED /
+     * CANCELLED refusées), par tranches de orders.bulk-status.chunk-size : une transaction par
+     * tranche, un UPDATE ... WHERE id IN, read models et métriques mis à jour en agrégé.
+     * Un résultat par id, émis par tranche après son commit ; une tranche en erreur est annulée
+     * seule (FAILED), les suivantes sont traitées.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updateOrderStatuses(BulkStatusUpdateRequestDTO request, Consumer<List<BulkStatusOutcomeDTO>> outcomes) {
+        OrderStatus newStatus = request.getStatus();
+        if (request.getCurrentStatus() == null) {
+            List<Long> ids = request.getIds().stream().distinct().toList();
+            for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+                applyChunk(ids.subList(from, Math.min(ids.size(), from + bulkChunkSize)), newStatus, outcomes);
+            }
+            return;
+        }
+
+        // Filtre : parcours par id croissant, borné aux commandes passées avant l'appel
+        LocalDateTime before = request.getOrderedBefore() != null ? request.getOrderedBefore() : LocalDateTime.now();
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> orderRepository.findIdsByStatus(
+                    request.getCurrentStatus(), before, cursor, PageRequest.of(0, bulkChunkSize)));
+            if (ids.isEmpty()) {
+                return;
+            }
+            applyChunk(ids, newStatus, outcomes);
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private void applyChunk(List<Long> ids, OrderStatus newStatus, Consumer<List<BulkStatusOutcomeDTO>> outcomes) {
+        List<BulkStatusOutcomeDTO> results;
+        try {
+            results = transactionTemplate.execute(status -> updateChunk(ids, newStatus));
+        } catch (RuntimeException e) {
+            logger.error("Échec du changement de statut groupé ({} commandes, statut {})", ids.size(), newStatus, e);
+            outcomes.accept(ids.stream()
+                    .map(id -> new BulkStatusOutcomeDTO(id, BulkStatusOutcomeDTO.Outcome.FAILED))
+                    .toList());
+            return;
+        }
+        orderMetrics.incrementStatus(newStatus, results.stream()
+                .filter(result -> result.getOutcome() == BulkStatusOutcomeDTO.Outcome.UPDATED)
+                .count());
+        outcomes.accept(results);
+    }
+
+    private List<BulkStatusOutcomeDTO> updateChunk(List<Long> ids, OrderStatus newStatus) {
+        Map<Long, OrderRepository.StatusRow> rows = orderRepository.lockStatusRows(ids).stream()
+                .collect(Collectors.toMap(OrderRepository.StatusRow::getId, Function.identity()));
+
+        List<BulkStatusOutcomeDTO> results = new ArrayList<>(ids.size());
+        List<Long> updatable = new ArrayList<>();
+        List<OrderRepository.StatusRow> changed = new ArrayList<>();
+        for (Long id : ids) {
+            OrderRepository.StatusRow row = rows.get(id);
+            BulkStatusOutcomeDTO.Outcome outcome;
+            if (row == null) {
+                outcome = BulkStatusOutcomeDTO.Outcome.NOT_FOUND;
+            } else if (row.getStatus() == OrderStatus.DELIVERED || row.getStatus() == OrderStatus.CANCELLED) {
+                outcome = BulkStatusOutcomeDTO.Outcome.REJECTED;
+            } else {
+                outcome = BulkStatusOutcomeDTO.Outcome.UPDATED;
+                updatable.add(id);
+                if (row.getStatus() != newStatus) {
+                    changed.add(row);
+                }
+            }
+            results.add(new BulkStatusOutcomeDTO(id, outcome));
+        }
+
+        if (!updatable.isEmpty()) {
+            orderRepository.updateStatus(updatable, newStatus, LocalDateTime.now());
+            summaryService.recordStatusChanges(changed, newStatus);
+            analyticsService.recordStatusChanges(changed, newStatus, newStatus == OrderStatus.CANCELLED && !changed.isEmpty()
+                    ? orderItemRepository.findLinesByOrderIdIn(changed.stream().map(OrderRepository.StatusRow::getId).toList())
+                    : List.of());
+        }
+        return results;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponseDTO cancelOrder(Long id) {
+        if (!releaseConnectionDuringRemoteCalls) {
+            return transactionTemplate.execute(status -> {
+                Order order = markCancelled(id);
+                // Restitution en échec : exception propagée, l'annulation est annulée avec la transaction
+                for (OrderItem item : order.getItems()) {
+                    productClient.updateStock(item.getProductId(), item.getQuantity());
+                }
+                orderMetrics.incrementStatus(OrderStatus.CANCELLED);
+                return OrderMapper.toResponse(order);
+            });
+        }
+
+        // Annulation validée localement d'abord, restitution du stock ensuite
+        List<OrderItem> items = new ArrayList<>();
+        OrderResponseDTO response = transactionTemplate.execute(status -> {
+            Order order = markCancelled(id);
+            items.addAll(order.getItems());
+            return OrderMapper.toResponse(order);
+        });
+        restoreStock(id, items);
+        orderMetrics.incrementStatus(OrderStatus.CANCELLED);
+        return response;
+    }
+
+    private Order markCancelled(Long id) {
 
         Order order = orderRepository.findById(id)
                 .orElseThrow(() ->
@@ -175,19 +438,26 @@ public class OrderService {
         }
 
 
-        order.getItems().forEach(item -> {
-            productClient.updateStock(
-                    item.getProductId(),
-                    item.getQuantity()
-            );
-        });
-
-
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         order.setUpdatedAt(LocalDateTime.now());
+        summaryService.recordStatusChange(order, previousStatus);
+        analyticsService.recordStatusChange(order, previousStatus);
 
-        orderMetrics.incrementStatus(OrderStatus.CANCELLED);
+        return order;
+    }
 
-        return OrderMapper.toResponse(order);
+    // Après un commit local (ou sans commande enregistrée) : chaque ligne est tentée, un échec
+    // n'interrompt pas les autres restitutions et reste à rejouer
+    private void restoreStock(Long orderId, List<OrderItem> items) {
+        for (OrderItem item : items) {
+            try {
+                productClient.updateStock(item.getProductId(), item.getQuantity());
+            } catch (RuntimeException e) {
+                orderMetrics.incrementStockRestoreFailures();
+                logger.error("Restitution de stock en échec, à rejouer : commande={} produit={} quantité={}",
+                        orderId == null ? "non enregistrée" : orderId, item.getProductId(), item.getQuantity(), e);
+            }
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.membership.order.application.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Première ligne d'un modèle de lecture (résumé utilisateur, cumul du jour) créée sans course :
+ * l'INSERT part dans sa propre transaction, la contrainte d'unicité départage deux créateurs
+ * simultanés et chacun relit (ou incrémente) ensuite la ligne dans sa transaction.
+ */
+@Component
+class ReadModelRows {
+
+    private final TransactionTemplate newTransaction;
+
+    ReadModelRows(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    <T> T lockOrCreate(Supplier<Optional<T>> lock, Runnable insert) {
+        return lock.get().orElseGet(() -> {
+            insert(insert);
+            return lock.get().orElseThrow();
+        });
+    }
+
+    // increment : UPDATE atomique, nombre de lignes modifiées
+    void incrementOrCreate(IntSupplier increment, Runnable insert) {
+        if (increment.getAsInt() == 0) {
+            insert(insert);
+            if (increment.getAsInt() == 0) {
+                throw new IllegalStateException("Ligne du modèle de lecture introuvable après création");
+            }
+        }
+    }
+
+    private void insert(Runnable insert) {
+        try {
+            newTransaction.executeWithoutResult(status -> insert.run());
+        } catch (DataIntegrityViolationException e) {
+            // Ligne insérée entre-temps par une transaction concurrente
+        }
+    }
+}
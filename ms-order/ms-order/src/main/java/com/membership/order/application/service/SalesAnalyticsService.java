@@ -0,0 +1,224 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.DailySalesDTO;
+import com.membership.order.application.dto.SalesBreakdownDTO;
+import com.membership.order.domain.entity.DailyProductSales;
+import com.membership.order.domain.entity.DailyStatusSales;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.repository.DailyProductSalesRepository;
+import com.membership.order.domain.repository.DailyStatusSalesRepository;
+import com.membership.order.domain.repository.OrderItemRepository;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.value.Money;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Cumuls de ventes par jour, mis à jour dans la transaction qui modifie la commande par des
+ * UPDATE atomiques (col = col + delta), sans lecture préalable ni SELECT ... FOR UPDATE.
+ * Une requête analytique lit au plus (jours × statuts) ou (jours × produits) lignes,
+ * quel que soit le nombre de commandes. La première ligne d'une clé est créée par ReadModelRows.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class SalesAnalyticsService {
+
+    static final long MAX_RANGE_DAYS = 366;
+
+    private final DailyStatusSalesRepository statusSalesRepository;
+    private final DailyProductSalesRepository productSalesRepository;
+    private final ReadModelRows rows;
+
+    public SalesAnalyticsService(DailyStatusSalesRepository statusSalesRepository,
+                                 DailyProductSalesRepository productSalesRepository,
+                                 ReadModelRows rows) {
+        this.statusSalesRepository = statusSalesRepository;
+        this.productSalesRepository = productSalesRepository;
+        this.rows = rows;
+    }
+
+    public void recordNewOrder(Order order) {
+        LocalDate day = order.getOrderDate().toLocalDate();
+        incrementStatusRow(day, order.getStatus(), 1, order.getTotalAmount());
+        applyItems(day, order.getItems(), 1);
+    }
+
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        if (previousStatus == order.getStatus()) {
+            return;
+        }
+        LocalDate day = order.getOrderDate().toLocalDate();
+        Map<StatusDay, Delta> statusDeltas = new TreeMap<>();
+        addStatusDelta(statusDeltas, day, previousStatus, -1, order.getTotalAmount().negate());
+        addStatusDelta(statusDeltas, day, order.getStatus(), 1, order.getTotalAmount());
+        applyStatusDeltas(statusDeltas);
+
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            applyItems(day, order.getItems(), -1);
+        }
+    }
+
+    // Lot de commandes passées à newStatus : deltas agrégés par (jour, statut) et (jour, produit),
+    // un incrément par clé, dans un ordre stable
+    public void recordStatusChanges(List<OrderRepository.StatusRow> changed, OrderStatus newStatus,
+                                    List<OrderItemRepository.ItemLine> cancelledItems) {
+        Map<StatusDay, Delta> statusDeltas = new TreeMap<>();
+        for (OrderRepository.StatusRow row : changed) {
+            LocalDate day = row.getOrderDate().toLocalDate();
+            addStatusDelta(statusDeltas, day, row.getStatus(), -1, row.getTotalAmount().negate());
+            addStatusDelta(statusDeltas, day, newStatus, 1, row.getTotalAmount());
+        }
+        applyStatusDeltas(statusDeltas);
+
+        Map<ProductDay, Delta> productDeltas = new TreeMap<>();
+        Map<ProductDay, String> categories = new TreeMap<>();
+        for (OrderItemRepository.ItemLine line : cancelledItems) {
+            ProductDay key = new ProductDay(line.getOrderDate().toLocalDate(), line.getProductId());
+            productDeltas.computeIfAbsent(key, k -> new Delta()).add(-line.getQuantity(), line.getSubtotal().negate());
+            categories.putIfAbsent(key, line.getProductCategory());
+        }
+        productDeltas.forEach((key, delta) -> incrementProductRow(key.day(), key.productId(), categories.get(key),
+                delta.count, delta.amount));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesDTO> getDailySales(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+
+        Map<LocalDate, DailySalesDTO> byDay = new TreeMap<>();
+        for (DailyStatusSales row : statusSalesRepository.findBySalesDateBetweenOrderBySalesDateAscStatusAsc(from, to)) {
+            DailySalesDTO dto = byDay.computeIfAbsent(row.getSalesDate(), SalesAnalyticsService::emptyDay);
+            dto.getOrdersByStatus().put(row.getStatus(), row.getOrderCount());
+            dto.getRevenueByStatus().put(row.getStatus(), row.getRevenue());
+            if (row.getStatus() != OrderStatus.CANCELLED) {
+                dto.setOrderCount(dto.getOrderCount() + row.getOrderCount());
+                dto.setRevenue(dto.getRevenue().add(row.getRevenue()));
+            }
+        }
+        return new ArrayList<>(byDay.values());
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesBreakdownDTO> getTopProducts(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit doit être strictement positif");
+        }
+        return productSalesRepository.sumByProduct(from, to, PageRequest.of(0, limit))
+                .stream()
+                .map(total -> breakdown(total.getProductId(), total.getCategory(),
+                        total.getQuantity(), total.getRevenue()))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesBreakdownDTO> getSalesByCategory(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return productSalesRepository.sumByCategory(from, to)
+                .stream()
+                .map(total -> breakdown(null, total.getCategory(), total.getQuantity(), total.getRevenue()))
+                .collect(Collectors.toList());
+    }
+
+    private void applyItems(LocalDate day, List<OrderItem> items, int sign) {
+        // Lignes modifiées par productId croissant : pas d'interblocage entre commandes concurrentes
+        List<OrderItem> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(OrderItem::getProductId));
+
+        for (OrderItem item : sorted) {
+            Money amount = sign > 0 ? item.getSubtotal() : item.getSubtotal().negate();
+            incrementProductRow(day, item.getProductId(), item.getProductCategory(),
+                    (long) sign * item.getQuantity(), amount);
+        }
+    }
+
+    private static void addStatusDelta(Map<StatusDay, Delta> deltas, LocalDate day, OrderStatus status,
+                                       long count, Money amount) {
+        deltas.computeIfAbsent(new StatusDay(day, status), k -> new Delta()).add(count, amount);
+    }
+
+    // Lignes (jour, statut) modifiées dans l'ordre de StatusDay, pour une commande comme pour un lot :
+    // deux transitions opposées le même jour ne s'interbloquent pas
+    private void applyStatusDeltas(Map<StatusDay, Delta> deltas) {
+        deltas.forEach((key, delta) -> incrementStatusRow(key.day(), key.status(), delta.count, delta.amount));
+    }
+
+    private void incrementStatusRow(LocalDate day, OrderStatus status, long orders, Money amount) {
+        rows.incrementOrCreate(() -> statusSalesRepository.increment(day, status, orders, amount.toBigDecimal()),
+                () -> statusSalesRepository.saveAndFlush(new DailyStatusSales(day, status)));
+    }
+
+    private void incrementProductRow(LocalDate day, Long productId, String category, long units, Money amount) {
+        rows.incrementOrCreate(() -> productSalesRepository.increment(day, productId, units, amount.toBigDecimal()),
+                () -> productSalesRepository.saveAndFlush(new DailyProductSales(day, productId, category)));
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Intervalle de dates invalide");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException(
+                    "Intervalle limité à " + MAX_RANGE_DAYS + " jours");
+        }
+    }
+
+    private record StatusDay(LocalDate day, OrderStatus status) implements Comparable<StatusDay> {
+        @Override
+        public int compareTo(StatusDay other) {
+            int byDay = day.compareTo(other.day);
+            return byDay != 0 ? byDay : status.compareTo(other.status);
+        }
+    }
+
+    private record ProductDay(LocalDate day, Long productId) implements Comparable<ProductDay> {
+        @Override
+        public int compareTo(ProductDay other) {
+            int byDay = day.compareTo(other.day);
+            return byDay != 0 ? byDay : productId.compareTo(other.productId);
+        }
+    }
+
+    private static final class Delta {
+        private long count;
+        private Money amount = Money.ZERO;
+
+        private void add(long count, Money amount) {
+            this.count += count;
+            this.amount = this.amount.plus(amount);
+        }
+    }
+
+    private static DailySalesDTO emptyDay(LocalDate date) {
+        DailySalesDTO dto = new DailySalesDTO();
+        dto.setDate(date);
+        dto.setRevenue(BigDecimal.ZERO);
+        dto.setOrdersByStatus(new EnumMap<>(OrderStatus.class));
+        dto.setRevenueByStatus(new EnumMap<>(OrderStatus.class));
+        return dto;
+    }
+
+    private static SalesBreakdownDTO breakdown(Long productId, String category, Long quantity, BigDecimal revenue) {
+        SalesBreakdownDTO dto = new SalesBreakdownDTO();
+        dto.setProductId(productId);
+        dto.setCategory(category);
+        dto.setQuantity(quantity == null ? 0 : quantity);
+        dto.setRevenue(revenue == null ? BigDecimal.ZERO : revenue);
+        return dto;
+    }
+}
@@ -0,0 +1,81 @@
+package com.membership.order.application.service;
+
+import com.membership.order.domain.repository.ArchivedOrderRepository;
+import com.membership.order.domain.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Reprise ponctuelle de user_order_summary depuis orders et orders_archive, pour les commandes
+ * antérieures au résumé. Utilisateurs parcourus par identifiant croissant, une transaction par
+ * tranche. Lancée au démarrage avec orders.summary.backfill-on-startup=true, sans effet sur
+ * des résumés déjà à jour.
+ */
+@Service
+public class UserOrderSummaryBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserOrderSummaryBackfill.class);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archiveRepository;
+    private final UserOrderSummaryService summaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean onStartup;
+    private final int chunkSize;
+
+    public UserOrderSummaryBackfill(OrderRepository orderRepository,
+                                    ArchivedOrderRepository archiveRepository,
+                                    UserOrderSummaryService summaryService,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${orders.summary.backfill-on-startup:false}") boolean onStartup,
+                                    @Value("${orders.summary.backfill-chunk-size:200}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.archiveRepository = archiveRepository;
+        this.summaryService = summaryService;
+        this.transactionTemplate = transactionTemplate;
+        this.onStartup = onStartup;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (onStartup) {
+            backfill();
+        }
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfill() {
+        int users = 0;
+        Long afterUserId = 0L;
+        while (true) {
+            List<Long> userIds = nextUserIds(afterUserId);
+            if (userIds.isEmpty()) {
+                logger.info("Résumés de commandes reconstruits pour {} utilisateurs", users);
+                return users;
+            }
+            transactionTemplate.executeWithoutResult(status -> userIds.forEach(summaryService::rebuild));
+            users += userIds.size();
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+    }
+
+    // Union des deux tables, les chunkSize plus petits identifiants après afterUserId
+    private List<Long> nextUserIds(Long afterUserId) {
+        PageRequest page = PageRequest.of(0, chunkSize);
+        TreeSet<Long> userIds = new TreeSet<>(orderRepository.findUserIdsAfter(afterUserId, page));
+        userIds.addAll(archiveRepository.findUserIdsAfter(afterUserId, page));
+        return userIds.stream().limit(chunkSize).toList();
+    }
+}
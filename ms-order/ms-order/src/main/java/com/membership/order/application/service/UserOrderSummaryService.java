@@ -0,0 +1,151 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.UserOrderSummaryDTO;
+import com.membership.order.application.mapper.UserOrderSummaryMapper;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.entity.UserOrderSummary;
+import com.membership.order.domain.repository.ArchivedOrderRepository;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.repository.UserOrderSummaryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintient user_order_summary dans la transaction qui modifie la commande.
+ * La ligne du résumé est verrouillée le temps de la mise à jour ; à la première commande d'un
+ * utilisateur elle est créée par ReadModelRows.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class UserOrderSummaryService {
+
+    private final UserOrderSummaryRepository summaryRepository;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archiveRepository;
+    private final ReadModelRows rows;
+    private final int recentOrdersLimit;
+
+    public UserOrderSummaryService(UserOrderSummaryRepository summaryRepository,
+                                   OrderRepository orderRepository,
+                                   ArchivedOrderRepository archiveRepository,
+                                   ReadModelRows rows,
+                                   @Value("${orders.summary.recent-orders:10}") int recentOrdersLimit) {
+        this.summaryRepository = summaryRepository;
+        this.orderRepository = orderRepository;
+        this.archiveRepository = archiveRepository;
+        this.rows = rows;
+        this.recentOrdersLimit = recentOrdersLimit;
+    }
+
+    public void recordNewOrder(Order order) {
+        UserOrderSummary summary = lockSummary(order.getUserId());
+        if (summary.getTotalOrders() == 0 && !summary.isComplete()) {
+            // Première commande du résumé : complet si l'utilisateur n'en a aucune autre
+            summary.setComplete(orderRepository.countByUserId(order.getUserId()) == 1
+                    && !archiveRepository.existsByUserId(order.getUserId()));
+        }
+
+        summary.adjustCount(order.getStatus(), 1);
+        summary.setLifetimeSpend(summary.getLifetimeSpend().add(order.getTotalAmount().toBigDecimal()));
+        summary.pushRecentOrderId(order.getId(), recentOrdersLimit);
+        if (summary.getLastOrderDate() == null || order.getOrderDate().isAfter(summary.getLastOrderDate())) {
+            summary.setLastOrderDate(order.getOrderDate());
+        }
+        if (summary.getFirstOrderDate() == null || order.getOrderDate().isBefore(summary.getFirstOrderDate())) {
+            summary.setFirstOrderDate(order.getOrderDate());
+        }
+    }
+
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        if (previousStatus == order.getStatus()) {
+            return;
+        }
+        UserOrderSummary summary = lockSummary(order.getUserId());
+
+        summary.adjustCount(previousStatus, -1);
+        summary.adjustCount(order.getStatus(), 1);
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            summary.setLifetimeSpend(summary.getLifetimeSpend().subtract(order.getTotalAmount().toBigDecimal()));
+        }
+    }
+
+    // Lot de commandes passées de row.getStatus() à newStatus : un résumé verrouillé par utilisateur
+    public void recordStatusChanges(List<OrderRepository.StatusRow> changed, OrderStatus newStatus) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<Long, UserOrderSummary> summaries = summaryRepository
+                .findAllForUpdate(changed.stream().map(OrderRepository.StatusRow::getUserId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(UserOrderSummary::getUserId, Function.identity()));
+
+        for (OrderRepository.StatusRow row : changed) {
+            UserOrderSummary summary = summaries.computeIfAbsent(row.getUserId(), this::lockSummary);
+            summary.adjustCount(row.getStatus(), -1);
+            summary.adjustCount(newStatus, 1);
+            if (newStatus == OrderStatus.CANCELLED) {
+                summary.setLifetimeSpend(summary.getLifetimeSpend().subtract(row.getTotalAmount().toBigDecimal()));
+            }
+        }
+    }
+
+    // Reprise depuis orders et orders_archive : ligne verrouillée avant la lecture des commandes,
+    // une création ou un changement de statut concurrent attend la fin de la reconstruction
+    public void rebuild(Long userId) {
+        UserOrderSummary summary = lockSummary(userId);
+        List<OrderRepository.StatusRow> orders = new ArrayList<>(orderRepository.findStatusRowsByUserId(userId));
+        orders.addAll(archiveRepository.findStatusRowsByUserId(userId));
+        orders.sort(Comparator.comparing(OrderRepository.StatusRow::getOrderDate)
+                .thenComparing(OrderRepository.StatusRow::getId));
+
+        for (OrderStatus status : OrderStatus.values()) {
+            summary.adjustCount(status, -summary.getCount(status));
+        }
+        summary.setLifetimeSpend(BigDecimal.ZERO);
+        summary.setRecentOrderIds("");
+        summary.setFirstOrderDate(null);
+        summary.setLastOrderDate(null);
+        for (OrderRepository.StatusRow order : orders) {
+            summary.adjustCount(order.getStatus(), 1);
+            if (order.getStatus() != OrderStatus.CANCELLED) {
+                summary.setLifetimeSpend(summary.getLifetimeSpend().add(order.getTotalAmount().toBigDecimal()));
+            }
+            summary.pushRecentOrderId(order.getId(), recentOrdersLimit);
+            if (summary.getLastOrderDate() == null || order.getOrderDate().isAfter(summary.getLastOrderDate())) {
+                summary.setLastOrderDate(order.getOrderDate());
+            }
+            if (summary.getFirstOrderDate() == null || order.getOrderDate().isBefore(summary.getFirstOrderDate())) {
+                summary.setFirstOrderDate(order.getOrderDate());
+            }
+        }
+        summary.setComplete(true);
+    }
+
+    @Transactional(readOnly = true)
+    public UserOrderSummaryDTO getSummary(Long userId) {
+        return UserOrderSummaryMapper.toResponse(
+                summaryRepository.findById(userId).orElseGet(() -> new UserOrderSummary(userId)));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<UserOrderSummary> findSummary(Long userId) {
+        return summaryRepository.findById(userId);
+    }
+
+    private UserOrderSummary lockSummary(Long userId) {
+        return rows.lockOrCreate(() -> summaryRepository.findForUpdate(userId),
+                () -> summaryRepository.saveAndFlush(new UserOrderSummary(userId)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.membership.order.domain.entity;
+
+import jakarta.persistence.*;
+import com.membership.order.domain.value.Money;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Commande terminée (DELIVERED / CANCELLED) sortie de orders par l'archivage : colonnes de
+ * recherche, et commande complète (articles compris) en JSON compressé gzip.
+ * Table en ajout seul : une ligne archivée n'est jamais modifiée.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = @Index(name = "idx_orders_archive_user", columnList = "user_id"))
+public class ArchivedOrder {
+
+    // Identifiant d'origine de la commande
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime orderDate;
+
+    // Montant gardé en colonne : reconstruction des résumés sans décompresser la commande
+    @Column(nullable = false, precision = 12, scale = 2)
+    private Money totalAmount;
+
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(nullable = false, length = 1_048_576)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private int payloadSize;
+
+    public ArchivedOrder() {
+    }
+
+    public ArchivedOrder(Order order, byte[] payload, LocalDateTime archivedAt) {
+        this.id = order.getId();
+        this.userId = order.getUserId();
+        this.status = order.getStatus();
+        this.orderDate = order.getOrderDate();
+        this.totalAmount = order.getTotalAmount();
+        this.updatedAt = order.getUpdatedAt();
+        this.archivedAt = archivedAt;
+        this.payload = payload;
+        this.payloadSize = payload.length;
+    }
+}
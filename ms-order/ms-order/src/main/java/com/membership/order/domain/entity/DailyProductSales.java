@@ -0,0 +1,45 @@
+package com.membership.order.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cumul journalier des ventes nettes (hors annulations) par produit.
+ */
+@Data
+@Entity
+@Table(name = "sales_daily_product",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"sales_date", "product_id"}))
+public class DailyProductSales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_daily_product_seq")
+    @SequenceGenerator(name = "sales_daily_product_seq", sequenceName = "sales_daily_product_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(length = 50)
+    private String category;
+
+    private long quantity;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    public DailyProductSales() {
+    }
+
+    public DailyProductSales(LocalDate salesDate, Long productId, String category) {
+        this.salesDate = salesDate;
+        this.productId = productId;
+        this.category = category;
+    }
+}
@@ -0,0 +1,42 @@
+package com.membership.order.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cumul journalier (jour de commande × statut courant) : nombre de commandes et montant.
+ */
+@Data
+@Entity
+@Table(name = "sales_daily_status",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"sales_date", "status"}))
+public class DailyStatusSales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_daily_status_seq")
+    @SequenceGenerator(name = "sales_daily_status_seq", sequenceName = "sales_daily_status_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    private long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    public DailyStatusSales() {
+    }
+
+    public DailyStatusSales(LocalDate salesDate, OrderStatus status) {
+        this.salesDate = salesDate;
+        this.status = status;
+    }
+}
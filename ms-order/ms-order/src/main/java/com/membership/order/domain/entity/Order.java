@@ -1,10 +1,10 @@
 package com.membership.order.domain.entity;
 
+import com.membership.order.domain.value.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,7 +14,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,7 +29,7 @@ public class Order {
     private OrderStatus status;
 
     @Column(nullable = false, precision = 12, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
 
     @Column(nullable = false, length = 255)
     @NotBlank
@@ -46,7 +47,7 @@ public class Order {
     }
 
     public Order(Long id, Long userId, LocalDateTime orderDate, OrderStatus status,
-                 BigDecimal totalAmount, String shippingAddress,
+                 Money totalAmount, String shippingAddress,
                  LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.userId = userId;
@@ -1,46 +1,56 @@
 package com.membership.order.domain.entity;
 
+import com.membership.order.domain.value.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "order_items")
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
+    // Date de la commande recopiée : clé de partitionnement de order_items (profil postgres)
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime orderDate;
+
     @Column(nullable = false)
     private Long productId;
 
     @Column(nullable = false, length = 150)
     private String productName;
 
+    // Catégorie du produit au moment de la commande (ventilation des ventes)
+    @Column(length = 50)
+    private String productCategory;
+
     @Column(nullable = false)
     @Min(1)
     private Integer quantity;
 
     @Column(nullable = false, precision = 10, scale = 2)
     @NotNull
-    private BigDecimal unitPrice;
+    private Money unitPrice;
 
     @Column(nullable = false, precision = 12, scale = 2)
     @NotNull
-    private BigDecimal subtotal;
+    private Money subtotal;
 
     public OrderItem() {
     }
 
     public OrderItem(Long id, Order order, Long productId, String productName,
-                     Integer quantity, BigDecimal unitPrice, BigDecimal subtotal) {
+                     Integer quantity, Money unitPrice, Money subtotal) {
         this.id = id;
         this.order = order;
         this.productId = productId;
@@ -50,6 +60,13 @@ public class OrderItem {
         this.subtotal = subtotal;
     }
 
+    @PrePersist
+    void copyOrderDate() {
+        if (orderDate == null && order != null) {
+            orderDate = order.getOrderDate();
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -66,6 +83,14 @@ public class OrderItem {
         this.order = order;
     }
 
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+
     public Long getProductId() {
         return productId;
     }
@@ -82,6 +107,14 @@ public class OrderItem {
         this.productName = productName;
     }
 
+    public String getProductCategory() {
+        return productCategory;
+    }
+
+    public void setProductCategory(String productCategory) {
+        this.productCategory = productCategory;
+    }
+
     public Integer getQuantity() {
         return quantity;
     }
@@ -90,19 +123,19 @@ public class OrderItem {
         this.quantity = quantity;
     }
 
-    public BigDecimal getUnitPrice() {
+    public Money getUnitPrice() {
         return unitPrice;
     }
 
-    public void setUnitPrice(BigDecimal unitPrice) {
+    public void setUnitPrice(Money unitPrice) {
         this.unitPrice = unitPrice;
     }
 
-    public BigDecimal getSubtotal() {
+    public Money getSubtotal() {
         return subtotal;
     }
 
-    public void setSubtotal(BigDecimal subtotal) {
+    public void setSubtotal(Money subtotal) {
         this.subtotal = subtotal;
     }
 }
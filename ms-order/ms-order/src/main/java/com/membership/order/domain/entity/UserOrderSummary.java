@@ -0,0 +1,101 @@
+package com.membership.order.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Résumé des commandes d'un utilisateur, maintenu à chaque création / changement de statut.
+ * lifetimeSpend exclut les commandes annulées.
+ */
+@Data
+@Entity
+@Table(name = "user_order_summary")
+public class UserOrderSummary {
+
+    @Id
+    private Long userId;
+
+    @Version
+    private Long version;
+
+    private long pendingCount;
+    private long confirmedCount;
+    private long shippedCount;
+    private long deliveredCount;
+    private long cancelledCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal lifetimeSpend = BigDecimal.ZERO;
+
+    // Bornes des dates de commande : les lectures par utilisateur ne visitent que ces partitions
+    private LocalDateTime firstOrderDate;
+
+    private LocalDateTime lastOrderDate;
+
+    // Toutes les commandes de l'utilisateur comptées (reprise faite, ou résumé créé dès sa première
+    // commande) : sans cela des commandes antérieures au résumé tombent hors des bornes de dates
+    @Column(nullable = false)
+    private boolean complete;
+
+    // Identifiants des dernières commandes, la plus récente en premier
+    @Column(length = 512)
+    private String recentOrderIds = "";
+
+    public UserOrderSummary() {
+    }
+
+    public UserOrderSummary(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getCount(OrderStatus status) {
+        return switch (status) {
+            case PENDING -> pendingCount;
+            case CONFIRMED -> confirmedCount;
+            case SHIPPED -> shippedCount;
+            case DELIVERED -> deliveredCount;
+            case CANCELLED -> cancelledCount;
+        };
+    }
+
+    public void adjustCount(OrderStatus status, long delta) {
+        switch (status) {
+            case PENDING -> pendingCount += delta;
+            case CONFIRMED -> confirmedCount += delta;
+            case SHIPPED -> shippedCount += delta;
+            case DELIVERED -> deliveredCount += delta;
+            case CANCELLED -> cancelledCount += delta;
+        }
+    }
+
+    public long getTotalOrders() {
+        return pendingCount + confirmedCount + shippedCount + deliveredCount + cancelledCount;
+    }
+
+    public List<Long> getRecentOrderIdList() {
+        if (recentOrderIds == null || recentOrderIds.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(recentOrderIds.split(","))
+                .map(Long::valueOf)
+                .toList();
+    }
+
+    public void pushRecentOrderId(Long orderId, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        ids.add(orderId);
+        for (Long id : getRecentOrderIdList()) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(id);
+        }
+        this.recentOrderIds = String.join(",", ids.stream().map(String::valueOf).toList());
+    }
+}
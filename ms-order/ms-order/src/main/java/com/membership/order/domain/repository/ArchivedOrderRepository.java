@@ -0,0 +1,40 @@
+package com.membership.order.domain.repository;
+
+import com.membership.order.domain.entity.ArchivedOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    List<ArchivedOrder> findByUserIdOrderById(Long userId);
+
+    boolean existsByUserId(Long userId);
+
+    @Query("select a.id as id, a.userId as userId, a.status as status, a.totalAmount as totalAmount, "
+            + "a.orderDate as orderDate from ArchivedOrder a where a.userId = :userId")
+    List<OrderRepository.StatusRow> findStatusRowsByUserId(@Param("userId") Long userId);
+
+    @Query("select distinct a.userId from ArchivedOrder a where a.userId > :afterUserId order by a.userId")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable page);
+
+    @Query("select a.updatedAt from ArchivedOrder a where a.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("select count(a) as total, coalesce(sum(a.id), 0) as idSum, max(a.updatedAt) as lastUpdatedAt "
+            + "from ArchivedOrder a where a.userId = :userId")
+    OrderRepository.VersionStamp stampByUserId(@Param("userId") Long userId);
+
+    @Query("select count(a) as orders, coalesce(sum(a.payloadSize), 0) as bytes from ArchivedOrder a")
+    ArchiveSize size();
+
+    interface ArchiveSize {
+        long getOrders();
+        long getBytes();
+    }
+}
@@ -0,0 +1,48 @@
+package com.membership.order.domain.repository;
+
+import com.membership.order.domain.entity.DailyProductSales;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, Long> {
+
+    // Incrément atomique, sans lecture préalable : 0 si la ligne n'existe pas encore
+    @Modifying
+    @Query("update DailyProductSales s set s.quantity = s.quantity + :units, s.revenue = s.revenue + :amount "
+            + "where s.salesDate = :salesDate and s.productId = :productId")
+    int increment(@Param("salesDate") LocalDate salesDate,
+                  @Param("productId") Long productId,
+                  @Param("units") long units,
+                  @Param("amount") BigDecimal amount);
+
+    @Query("select s.productId as productId, max(s.category) as category, "
+            + "sum(s.quantity) as quantity, sum(s.revenue) as revenue "
+            + "from DailyProductSales s where s.salesDate between :from and :to "
+            + "group by s.productId order by sum(s.revenue) desc")
+    List<ProductSalesTotal> sumByProduct(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable page);
+
+    @Query("select s.category as category, sum(s.quantity) as quantity, sum(s.revenue) as revenue "
+            + "from DailyProductSales s where s.salesDate between :from and :to "
+            + "group by s.category order by sum(s.revenue) desc")
+    List<CategorySalesTotal> sumByCategory(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface ProductSalesTotal {
+        Long getProductId();
+        String getCategory();
+        Long getQuantity();
+        BigDecimal getRevenue();
+    }
+
+    interface CategorySalesTotal {
+        String getCategory();
+        Long getQuantity();
+        BigDecimal getRevenue();
+    }
+}
@@ -0,0 +1,26 @@
+package com.membership.order.domain.repository;
+
+import com.membership.order.domain.entity.DailyStatusSales;
+import com.membership.order.domain.entity.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyStatusSalesRepository extends JpaRepository<DailyStatusSales, Long> {
+
+    // Incrément atomique, sans lecture préalable : 0 si la ligne n'existe pas encore
+    @Modifying
+    @Query("update DailyStatusSales s set s.orderCount = s.orderCount + :orders, s.revenue = s.revenue + :amount "
+            + "where s.salesDate = :salesDate and s.status = :status")
+    int increment(@Param("salesDate") LocalDate salesDate,
+                  @Param("status") OrderStatus status,
+                  @Param("orders") long orders,
+                  @Param("amount") BigDecimal amount);
+
+    List<DailyStatusSales> findBySalesDateBetweenOrderBySalesDateAscStatusAsc(LocalDate from, LocalDate to);
+}
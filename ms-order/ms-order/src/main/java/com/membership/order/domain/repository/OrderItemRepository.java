@@ -1,7 +1,32 @@
 package com.membership.order.domain.repository;
 
 import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.value.Money;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    // Lignes des commandes d'un lot, sans charger commandes ni articles
+    @Query("select o.orderDate as orderDate, i.productId as productId, i.productCategory as productCategory, "
+            + "i.quantity as quantity, i.subtotal as subtotal from OrderItem i join i.order o where o.id in :orderIds")
+    List<ItemLine> findLinesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("delete from OrderItem i where i.order.id in :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    interface ItemLine {
+        LocalDateTime getOrderDate();
+        Long getProductId();
+        String getProductCategory();
+        Integer getQuantity();
+        Money getSubtotal();
+    }
 }
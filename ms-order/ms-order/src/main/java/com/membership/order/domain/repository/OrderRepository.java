@@ -2,13 +2,110 @@ package com.membership.order.domain.repository;
 
 import com.membership.order.domain.entity.Order;
 import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.value.Money;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     List<Order> findByUserId(Long userId);
 
+    long countByUserId(Long userId);
+
+    // Bornée par les dates de commande de l'utilisateur : seules les partitions de ces mois sont lues
+    List<Order> findByUserIdAndOrderDateBetween(Long userId, LocalDateTime from, LocalDateTime to);
+
     List<Order> findByStatus(OrderStatus status);
+
+    // Reprise des résumés par utilisateur (UserOrderSummaryBackfill)
+
+    @Query("select o.id as id, o.userId as userId, o.status as status, o.totalAmount as totalAmount, "
+            + "o.orderDate as orderDate from Order o where o.userId = :userId")
+    List<StatusRow> findStatusRowsByUserId(@Param("userId") Long userId);
+
+    @Query("select distinct o.userId from Order o where o.userId > :afterUserId order by o.userId")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable page);
+
+    // Versions pour les GET conditionnels : une colonne ou un agrégat, sans charger les commandes
+
+    @Query("select o.updatedAt from Order o where o.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("select count(o) as total, coalesce(sum(o.id), 0) as idSum, max(o.updatedAt) as lastUpdatedAt "
+            + "from Order o")
+    VersionStamp stampAll();
+
+    @Query("select count(o) as total, coalesce(sum(o.id), 0) as idSum, max(o.updatedAt) as lastUpdatedAt "
+            + "from Order o where o.userId = :userId")
+    VersionStamp stampByUserId(@Param("userId") Long userId);
+
+    @Query("select count(o) as total, coalesce(sum(o.id), 0) as idSum, max(o.updatedAt) as lastUpdatedAt "
+            + "from Order o where o.userId = :userId and o.orderDate between :from and :to")
+    VersionStamp stampByUserIdAndOrderDateBetween(@Param("userId") Long userId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    @Query("select count(o) as total, coalesce(sum(o.id), 0) as idSum, max(o.updatedAt) as lastUpdatedAt "
+            + "from Order o where o.status = :status")
+    VersionStamp stampByStatus(@Param("status") OrderStatus status);
+
+    // Changements de statut groupés : colonnes utiles seulement, lignes verrouillées jusqu'au commit
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o.id as id, o.userId as userId, o.status as status, o.totalAmount as totalAmount, "
+            + "o.orderDate as orderDate from Order o where o.id in :ids order by o.id")
+    List<StatusRow> lockStatusRows(@Param("ids") Collection<Long> ids);
+
+    @Query("select o.id from Order o where o.status = :status and o.orderDate < :before and o.id > :afterId "
+            + "order by o.id")
+    List<Long> findIdsByStatus(@Param("status") OrderStatus status,
+                               @Param("before") LocalDateTime before,
+                               @Param("afterId") Long afterId,
+                               Pageable page);
+
+    @Modifying
+    @Query("update Order o set o.status = :status, o.updatedAt = :updatedAt where o.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") OrderStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Archivage des commandes terminées
+
+    // orderDate <= updatedAt : le filtre redondant sur orderDate écarte les partitions récentes
+    @Query("select o.id from Order o where o.status in :statuses and o.updatedAt < :before "
+            + "and o.orderDate < :before order by o.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<OrderStatus> statuses,
+                                 @Param("before") LocalDateTime before,
+                                 Pageable page);
+
+    @Query("select distinct o from Order o left join fetch o.items where o.id in :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Order o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface StatusRow {
+        Long getId();
+        Long getUserId();
+        OrderStatus getStatus();
+        Money getTotalAmount();
+        LocalDateTime getOrderDate();
+    }
+
+    interface VersionStamp {
+        long getTotal();
+        long getIdSum();
+        LocalDateTime getLastUpdatedAt();
+    }
 }
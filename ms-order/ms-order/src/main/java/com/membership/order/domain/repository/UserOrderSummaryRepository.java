@@ -0,0 +1,24 @@
+package com.membership.order.domain.repository;
+
+import com.membership.order.domain.entity.UserOrderSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserOrderSummaryRepository extends JpaRepository<UserOrderSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserOrderSummary s where s.userId = :userId")
+    Optional<UserOrderSummary> findForUpdate(@Param("userId") Long userId);
+
+    // Verrouillage par userId croissant : même ordre pour tous les lots concurrents
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserOrderSummary s where s.userId in :userIds order by s.userId")
+    List<UserOrderSummary> findAllForUpdate(@Param("userIds") Collection<Long> userIds);
+}
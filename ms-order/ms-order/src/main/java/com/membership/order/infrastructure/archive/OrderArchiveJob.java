@@ -0,0 +1,29 @@
+package com.membership.order.infrastructure.archive;
+
+import com.membership.order.application.service.OrderArchiveService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Passage d'archivage périodique ; premier passage après un intervalle complet,
+ * pas au démarrage.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "orders.archive", name = "enabled", havingValue = "true")
+public class OrderArchiveJob {
+
+    private final OrderArchiveService archiveService;
+
+    public OrderArchiveJob(OrderArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    @Scheduled(initialDelayString = "${orders.archive.interval:PT1H}",
+            fixedDelayString = "${orders.archive.interval:PT1H}")
+    public void archive() {
+        archiveService.archive();
+    }
+}
@@ -1,37 +1,159 @@
 package com.membership.order.infrastructure.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.membership.order.infrastructure.client.batch.BatchLoader;
+import com.membership.order.infrastructure.client.batch.ClientBatching;
+import com.membership.order.infrastructure.client.channel.StockChannelClient;
 import com.membership.order.infrastructure.client.dto.ProductDTO;
+import com.membership.order.infrastructure.client.dto.StockUpdateDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class ProductClient {
 
-    private static final String PRODUCT_SERVICE_URL = "http://localhost:8082";
+    private static final Logger logger = LoggerFactory.getLogger(ProductClient.class);
+    private static final int MAX_CACHED_PRODUCTS = 1000;
+
+    // CBOR préféré, JSON accepté : un ms-product sans CBOR répond simplement en JSON
+    private static final List<MediaType> CBOR_ACCEPT = List.of(
+            MediaType.APPLICATION_CBOR, MediaType.parseMediaType("application/json;q=0.5"));
+
     private final RestTemplate restTemplate;
+    private final String baseUrl;
+
+    // Canal TCP multiplexé vers ms-product (clients.product.transport=channel), sinon HTTP
+    private final StockChannelClient stockChannel;
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+    // Format des échanges (cbor ou json) ; bascule définitive sur JSON si ms-product refuse le CBOR
+    private volatile boolean cbor;
+
+    // Dernière réponse reçue par produit : revalidée par If-None-Match, jamais servie sans revalidation
+    private final Map<Long, CachedProduct> lastResponses = new ConcurrentHashMap<>();
 
-    public ProductClient(RestTemplate restTemplate) {
+    // Lectures concurrentes regroupées en GET /api/v1/products/batch (clients.batching.enabled), sinon null
+    private final BatchLoader<Long, ProductDTO> products;
+
+    public ProductClient(RestTemplate restTemplate,
+                         @Nullable StockChannelClient stockChannel,
+                         @Value("${clients.product.url:http://localhost:8082}") String baseUrl,
+                         @Value("${clients.product.wire-format:cbor}") String wireFormat,
+                         ClientBatching batching) {
         this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.stockChannel = stockChannel;
+        this.cbor = "cbor".equalsIgnoreCase(wireFormat);
+        this.products = batching.enabled() ? batching.loader("product", this::fetchProducts) : null;
     }
 
     public ProductDTO getProduct(Long productId) {
-        String url = PRODUCT_SERVICE_URL + "/api/v1/products/" + productId;
-        return restTemplate.getForObject(url, ProductDTO.class);
+        if (stockChannel != null) {
+            try {
+                return cborMapper.readValue(stockChannel.getProduct(productId), ProductDTO.class);
+            } catch (IOException e) {
+                throw new ResourceAccessException("Produit " + productId + " illisible: " + e.getMessage(), e);
+            }
+        }
+
+        if (products != null) {
+            ProductDTO product = products.load(productId);
+            if (product == null) {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND,
+                        "Produit " + productId + " introuvable", HttpHeaders.EMPTY, null, null);
+            }
+            return product;
+        }
+
+        String url = baseUrl + "/api/v1/products/" + productId;
+
+        CachedProduct cached = lastResponses.get(productId);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(cbor ? CBOR_ACCEPT : List.of(MediaType.APPLICATION_JSON));
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+
+        ResponseEntity<ProductDTO> response =
+                restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), ProductDTO.class);
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return cached.product();
+        }
+
+        ProductDTO product = response.getBody();
+        String etag = response.getHeaders().getETag();
+        if (etag != null && product != null) {
+            if (lastResponses.size() >= MAX_CACHED_PRODUCTS) {
+                lastResponses.clear();
+            }
+            lastResponses.put(productId, new CachedProduct(etag, product));
+        }
+        return product;
+    }
+
+    private Map<Long, ProductDTO> fetchProducts(List<Long> ids) {
+        String url = baseUrl + "/api/v1/products/batch?ids="
+                + ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(cbor ? CBOR_ACCEPT : List.of(MediaType.APPLICATION_JSON));
+
+        ProductDTO[] found = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), ProductDTO[].class)
+                .getBody();
+        return found == null ? Map.of()
+                : Arrays.stream(found).collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
     }
 
     public void updateStock(Long productId, int quantityChange) {
 
-        String url = PRODUCT_SERVICE_URL + "/api/v1/products/" + productId + "/stock";
+        if (stockChannel != null) {
+            stockChannel.adjustStock(productId, quantityChange);
+            return;
+        }
+
+        String url = baseUrl + "/api/v1/products/" + productId + "/stock";
 
-        Map<String, Integer> body = new HashMap<>();
-        body.put("quantityChange", quantityChange);
+        StockUpdateDTO body = new StockUpdateDTO(quantityChange);
 
-        restTemplate.put(url, body);
+        if (cbor) {
+            try {
+                restTemplate.put(url, withContentType(body, MediaType.APPLICATION_CBOR));
+                return;
+            } catch (HttpClientErrorException.UnsupportedMediaType e) {
+                logger.warn("ms-product n'accepte pas le CBOR, bascule des échanges en JSON");
+                cbor = false;
+            }
+        }
+        restTemplate.put(url, withContentType(body, MediaType.APPLICATION_JSON));
     }
 
+    private static HttpEntity<StockUpdateDTO> withContentType(StockUpdateDTO body, MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return new HttpEntity<>(body, headers);
+    }
 
+    private record CachedProduct(String etag, ProductDTO product) {
+    }
 }
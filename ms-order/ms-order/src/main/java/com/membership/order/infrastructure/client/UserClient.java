@@ -1,28 +1,61 @@
 package com.membership.order.infrastructure.client;
 
+import com.membership.order.infrastructure.client.batch.BatchLoader;
+import com.membership.order.infrastructure.client.batch.ClientBatching;
+import com.membership.order.infrastructure.client.dto.UserDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 
 @Component
 public class UserClient {
 
     private static final Logger logger = LoggerFactory.getLogger(UserClient.class);
-    private static final String USER_SERVICE_URL = "http://localhost:8080";
+    private static final int MAX_CACHED_USERS = 10_000;
 
     private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final long existenceTtlNanos;
+
+    // Vérifications concurrentes regroupées en GET /api/v1/users/batch (clients.batching.enabled), sinon null
+    private final BatchLoader<Long, UserDTO> users;
+
+    // Utilisateurs dont l'existence a été confirmée, avec l'instant de confirmation ; les absences ne sont pas gardées
+    private final Map<Long, Long> confirmedUsers = new ConcurrentHashMap<>();
 
-    public UserClient(RestTemplate restTemplate) {
+    public UserClient(RestTemplate restTemplate,
+                      @Value("${clients.membership.url:http://localhost:8080}") String baseUrl,
+                      @Value("${clients.membership.existence-cache-ttl:5m}") Duration existenceTtl,
+                      ClientBatching batching) {
         this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.existenceTtlNanos = existenceTtl.toNanos();
+        this.users = batching.enabled() ? batching.loader("user", this::fetchUsers) : null;
     }
 
     public boolean userExists(Long userId) {
         try {
-            String url = USER_SERVICE_URL + "/api/v1/users/" + userId;
-            logger.info("GET {}", url);
+            if (users != null) {
+                if (users.load(userId) != null) {
+                    return true;
+                }
+                logger.warn("Utilisateur {} introuvable", userId);
+                return false;
+            }
+            String url = baseUrl + "/api/v1/users/" + userId;
+            logger.debug("GET {}", url);
             restTemplate.getForObject(url, Void.class);
             return true;
         } catch (RestClientException e) {
@@ -30,4 +63,31 @@ public class UserClient {
             return false;
         }
     }
+
+    /** userExists dont les réponses positives sont réutilisées pendant clients.membership.existence-cache-ttl. */
+    public boolean userExistsCached(Long userId) {
+        long now = System.nanoTime();
+        Long confirmedAt = confirmedUsers.get(userId);
+        if (confirmedAt != null && now - confirmedAt < existenceTtlNanos) {
+            return true;
+        }
+        if (!userExists(userId)) {
+            confirmedUsers.remove(userId);
+            return false;
+        }
+        if (confirmedUsers.size() >= MAX_CACHED_USERS) {
+            confirmedUsers.clear();
+        }
+        confirmedUsers.put(userId, now);
+        return true;
+    }
+
+    private Map<Long, UserDTO> fetchUsers(List<Long> ids) {
+        String url = baseUrl + "/api/v1/users/batch?ids="
+                + ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        logger.debug("GET {}", url);
+        UserDTO[] found = restTemplate.getForObject(url, UserDTO[].class);
+        return found == null ? Map.of()
+                : Arrays.stream(found).collect(Collectors.toMap(UserDTO::getId, Function.identity()));
+    }
 }
@@ -0,0 +1,126 @@
+package com.membership.order.infrastructure.client.batch;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Regroupement des lectures concurrentes (à la DataLoader) : les clés demandées pendant la
+ * fenêtre partent en un seul appel groupé, chaque appelant reçoit sa valeur (null si absente).
+ * Une clé déjà en attente dans le lot courant partage la même réponse.
+ * Le premier appelant d'un lot attend la fenêtre puis l'envoie, sans thread dédié ;
+ * un lot plein part aussitôt, envoyé par l'appelant qui le remplit.
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<List<K>, Map<K, V>> bulkFetch;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSize;
+    private final Timer batchWindow;
+
+    private Batch<K, V> open;
+
+    BatchLoader(Function<List<K>, Map<K, V>> bulkFetch, Duration window, int maxBatchSize,
+                DistributionSummary batchSize, Timer batchWindow) {
+        this.bulkFetch = bulkFetch;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = batchSize;
+        this.batchWindow = batchWindow;
+    }
+
+    public V load(K key) {
+        Batch<K, V> batch;
+        CompletableFuture<V> result;
+        boolean leader;
+        boolean full;
+        synchronized (this) {
+            leader = open == null;
+            if (leader) {
+                open = new Batch<>(System.nanoTime());
+            }
+            batch = open;
+            result = batch.pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            full = batch.pending.size() >= maxBatchSize;
+            if (full) {
+                open = null;
+                batch.closed.countDown();
+            }
+        }
+
+        if (full) {
+            dispatch(batch);
+        } else if (leader) {
+            awaitWindow(batch);
+            if (close(batch)) {
+                dispatch(batch);
+            }
+        }
+
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Faux si le lot a déjà été fermé (rempli pendant la fenêtre) et envoyé par un autre appelant
+    private synchronized boolean close(Batch<K, V> batch) {
+        if (open != batch) {
+            return false;
+        }
+        open = null;
+        batch.closed.countDown();
+        return true;
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        Map<K, CompletableFuture<V>> pending;
+        synchronized (this) {
+            pending = new LinkedHashMap<>(batch.pending);
+        }
+        batchWindow.record(System.nanoTime() - batch.openedAt, TimeUnit.NANOSECONDS);
+        batchSize.record(pending.size());
+        try {
+            Map<K, V> values = bulkFetch.apply(new ArrayList<>(pending.keySet()));
+            pending.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (RuntimeException e) {
+            pending.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    // Fin de la fenêtre, ou plus tôt si le lot est rempli entre-temps
+    private void awaitWindow(Batch<K, V> batch) {
+        try {
+            batch.closed.await(windowNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            // lot envoyé sans attendre la fin de la fenêtre
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Batch<K, V> {
+
+        private final long openedAt;
+        private final Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        private Batch(long openedAt) {
+            this.openedAt = openedAt;
+        }
+    }
+}
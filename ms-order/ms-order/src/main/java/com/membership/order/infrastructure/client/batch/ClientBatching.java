@@ -0,0 +1,60 @@
+package com.membership.order.infrastructure.client.batch;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Réglages du regroupement des lectures de UserClient / ProductClient (clients.batching.*)
+ * et fabrique de leurs BatchLoader : histogrammes clients.batch.size{loader} (clés distinctes
+ * par appel groupé) et clients.batch.window{loader} (attente réelle avant envoi).
+ */
+@Component
+public class ClientBatching {
+
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final MeterRegistry meterRegistry;
+
+    public ClientBatching(@Value("${clients.batching.enabled:false}") boolean enabled,
+                          @Value("${clients.batching.window:2ms}") Duration window,
+                          @Value("${clients.batching.max-batch-size:100}") int maxBatchSize,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Regroupement désactivé : un appel par lecture. */
+    public static ClientBatching disabled() {
+        return new ClientBatching(false, Duration.ZERO, 1, new SimpleMeterRegistry());
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public <K, V> BatchLoader<K, V> loader(String name, Function<List<K>, Map<K, V>> bulkFetch) {
+        DistributionSummary batchSize = DistributionSummary.builder("clients.batch.size")
+                .description("Clés distinctes par appel groupé")
+                .tag("loader", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Timer batchWindow = Timer.builder("clients.batch.window")
+                .description("Attente entre la première demande d'un lot et son envoi")
+                .tag("loader", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new BatchLoader<>(bulkFetch, window, maxBatchSize, batchSize, batchWindow);
+    }
+}
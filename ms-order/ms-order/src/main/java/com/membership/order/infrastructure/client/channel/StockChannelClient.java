@@ -0,0 +1,286 @@
+package com.membership.order.infrastructure.client.channel;
+
+import com.membership.order.infrastructure.client.channel.StockChannelProtocol.Frame;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client du canal stock de ms-product : quelques connexions TCP persistantes partagées
+ * par tous les threads appelants. Chaque requête porte un identifiant de corrélation,
+ * les réponses sont rendues à leur appelant dans l'ordre où elles arrivent.
+ * Les erreurs sont celles de RestTemplate (HttpClientErrorException, ResourceAccessException...) :
+ * ProductClient bascule de transport sans changer le comportement de ses appelants.
+ */
+@Component
+@ConditionalOnProperty(prefix = "clients.product", name = "transport", havingValue = "channel")
+public class StockChannelClient implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockChannelClient.class);
+
+    private final String host;
+    private final int port;
+    private final String token;
+    private final int maxInFlight;
+    private final Duration timeout;
+
+    private final Channel[] channels;
+    private final AtomicInteger nextChannel = new AtomicInteger();
+    private final AtomicLong correlationIds = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public StockChannelClient(@Value("${clients.product.channel.host:localhost}") String host,
+                              @Value("${clients.product.channel.port:9082}") int port,
+                              @Value("${clients.product.channel.token:}") String token,
+                              @Value("${clients.product.channel.connections:2}") int connections,
+                              @Value("${clients.product.channel.max-in-flight:256}") int maxInFlight,
+                              @Value("${clients.product.channel.timeout:5s}") Duration timeout,
+                              MeterRegistry meterRegistry) {
+        this.host = host;
+        this.port = port;
+        this.token = token;
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+        this.channels = new Channel[connections];
+
+        Gauge.builder("clients.product.channel.in.flight", inFlight, AtomicInteger::get)
+                .description("Requêtes envoyées sur le canal stock en attente de réponse")
+                .register(meterRegistry);
+    }
+
+    /** Produit encodé en CBOR, tel que servi par GET /api/v1/products/{id}. */
+    public byte[] getProduct(long productId) {
+        return call(StockChannelProtocol.GET_PRODUCT, ByteBuffer.allocate(Long.BYTES).putLong(productId).array());
+    }
+
+    public void adjustStock(long productId, int quantityChange) {
+        call(StockChannelProtocol.ADJUST_STOCK,
+                ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(productId).putInt(quantityChange).array());
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Channel channel : channels) {
+            if (channel != null) {
+                channel.fail(new IOException("Client du canal stock fermé"), true);
+            }
+        }
+    }
+
+    private byte[] call(byte operation, byte[] payload) {
+        Frame reply;
+        try {
+            reply = channel().send(operation, payload).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (IOException ex) {
+            throw new ResourceAccessException("Canal stock indisponible: " + ex.getMessage(), ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                throw timedOut();
+            }
+            throw new ResourceAccessException("Canal stock interrompu: " + ex.getCause().getMessage(),
+                    ex.getCause() instanceof IOException io ? io : null);
+        } catch (TimeoutException ex) {
+            throw timedOut();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Appel au canal stock interrompu");
+        }
+
+        String message = new String(reply.payload(), StandardCharsets.UTF_8);
+        return switch (reply.code()) {
+            case StockChannelProtocol.OK -> reply.payload();
+            case StockChannelProtocol.NOT_FOUND -> throw clientError(HttpStatus.NOT_FOUND, message);
+            case StockChannelProtocol.REJECTED -> throw clientError(HttpStatus.BAD_REQUEST, message);
+            case StockChannelProtocol.UNAUTHORIZED -> throw clientError(HttpStatus.UNAUTHORIZED, message);
+            default -> throw HttpServerErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR, message,
+                    HttpHeaders.EMPTY, reply.payload(), StandardCharsets.UTF_8);
+        };
+    }
+
+    private ResourceAccessException timedOut() {
+        return new ResourceAccessException("Canal stock : pas de réponse sous " + timeout.toMillis() + " ms");
+    }
+
+    private static HttpClientErrorException clientError(HttpStatus status, String message) {
+        return HttpClientErrorException.create(status, message, HttpHeaders.EMPTY,
+                message.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    // Répartition des appels sur les connexions ; une connexion tombée est rouverte au prochain appel
+    private Channel channel() throws IOException {
+        int index = Math.floorMod(nextChannel.getAndIncrement(), channels.length);
+        Channel channel = channels[index];
+        if (channel != null && channel.open) {
+            return channel;
+        }
+        synchronized (this) {
+            channel = channels[index];
+            if (channel == null || !channel.open) {
+                channel = new Channel(index);
+                channels[index] = channel;
+            }
+            return channel;
+        }
+    }
+
+    /**
+     * Une connexion : les appelants déposent leurs trames dans une file qu'un écrivain vide
+     * en un seul flush ; un lecteur complète les réponses par identifiant.
+     * Contrôle de flux : au plus max-in-flight requêtes sans réponse par connexion,
+     * au-delà l'appelant attend un permis (dans la limite du timeout).
+     */
+    private final class Channel {
+
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final Semaphore permits = new Semaphore(maxInFlight);
+        private final Map<Long, CompletableFuture<Frame>> pending = new ConcurrentHashMap<>();
+        private final BlockingQueue<Frame> outbound = new LinkedBlockingQueue<>();
+        private final Thread writer;
+        private volatile boolean open = true;
+
+        Channel(int index) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(host, port), (int) timeout.toMillis());
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+
+            // HELLO synchrone : un jeton refusé ferme la connexion avant toute requête
+            StockChannelProtocol.write(out, new Frame(0, StockChannelProtocol.HELLO,
+                    token.getBytes(StandardCharsets.UTF_8)));
+            out.flush();
+            try {
+                socket.setSoTimeout((int) timeout.toMillis());
+                if (StockChannelProtocol.read(in).code() != StockChannelProtocol.OK) {
+                    throw new IOException("Jeton refusé par le canal stock");
+                }
+                socket.setSoTimeout(0);
+            } catch (IOException ex) {
+                socket.close();
+                throw ex;
+            }
+
+            writer = daemon(this::writeLoop, "stock-channel-client-writer-" + index);
+            writer.start();
+            daemon(this::readLoop, "stock-channel-client-reader-" + index).start();
+            logger.info("Canal stock connecté à {}:{} (connexion {})", host, port, index);
+        }
+
+        CompletableFuture<Frame> send(byte operation, byte[] payload) throws IOException {
+            try {
+                if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new IOException("Trop de requêtes en attente sur le canal stock");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Attente d'un permis interrompue", ex);
+            }
+
+            long id = correlationIds.incrementAndGet();
+            CompletableFuture<Frame> reply = new CompletableFuture<>();
+            pending.put(id, reply);
+            inFlight.incrementAndGet();
+            // Permis rendu à la réponse, à l'échec de la connexion ou au timeout de l'appelant
+            reply.whenComplete((frame, error) -> {
+                if (pending.remove(id) != null) {
+                    permits.release();
+                    inFlight.decrementAndGet();
+                }
+            });
+            reply.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+            outbound.add(new Frame(id, operation, payload));
+            if (!open) {
+                reply.completeExceptionally(new IOException("Connexion au canal stock fermée"));
+            }
+            return reply;
+        }
+
+        private void writeLoop() {
+            try {
+                while (open) {
+                    Frame frame = outbound.take();
+                    do {
+                        StockChannelProtocol.write(out, frame);
+                    } while ((frame = outbound.poll()) != null);
+                    out.flush();
+                }
+            } catch (IOException ex) {
+                fail(ex, false);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void readLoop() {
+            try {
+                while (open) {
+                    Frame reply = StockChannelProtocol.read(in);
+                    CompletableFuture<Frame> caller = pending.get(reply.id());
+                    if (caller != null) {
+                        caller.complete(reply);
+                    }
+                }
+            } catch (IOException ex) {
+                fail(ex, false);
+            }
+        }
+
+        void fail(IOException cause, boolean expected) {
+            if (!open) {
+                return;
+            }
+            open = false;
+            if (!expected) {
+                logger.warn("Canal stock : connexion perdue ({}), {} requêtes en échec",
+                        cause.getMessage(), pending.size());
+            }
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // déjà fermée
+            }
+            writer.interrupt();
+            pending.values().forEach(reply -> reply.completeExceptionally(cause));
+        }
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,56 @@
+package com.membership.order.infrastructure.client.channel;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Trames du canal stock ms-order / ms-product (TCP persistant, multiplexé).
+ * Trame : longueur (int, hors ce champ) | identifiant de corrélation (long) | code (byte) | charge utile.
+ * Le code est l'opération dans une requête, le statut dans une réponse ; les réponses
+ * reprennent l'identifiant de la requête et arrivent dans n'importe quel ordre.
+ * Copie identique côté ms-product (infrastructure/channel).
+ */
+final class StockChannelProtocol {
+
+    static final int MAX_FRAME_SIZE = 1 << 20;
+    private static final int HEADER_SIZE = Long.BYTES + 1;
+
+    // Opérations (charge utile : jeton UTF-8 | productId | productId + variation)
+    static final byte HELLO = 0;
+    static final byte GET_PRODUCT = 1;
+    static final byte ADJUST_STOCK = 2;
+
+    // Statuts (charge utile : produit CBOR pour GET_PRODUCT, message UTF-8 en erreur)
+    static final byte OK = 0;
+    static final byte NOT_FOUND = 1;
+    static final byte REJECTED = 2;
+    static final byte UNAUTHORIZED = 3;
+    static final byte ERROR = 4;
+
+    private StockChannelProtocol() {
+    }
+
+    record Frame(long id, byte code, byte[] payload) {
+    }
+
+    static Frame read(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < HEADER_SIZE || length > MAX_FRAME_SIZE) {
+            throw new IOException("Trame invalide (" + length + " octets)");
+        }
+        long id = in.readLong();
+        byte code = in.readByte();
+        byte[] payload = new byte[length - HEADER_SIZE];
+        in.readFully(payload);
+        return new Frame(id, code, payload);
+    }
+
+    // Sans flush : l'écrivain regroupe les trames en attente avant de vider le tampon
+    static void write(DataOutputStream out, Frame frame) throws IOException {
+        out.writeInt(HEADER_SIZE + frame.payload().length);
+        out.writeLong(frame.id());
+        out.writeByte(frame.code());
+        out.write(frame.payload());
+    }
+}
@@ -1,16 +1,16 @@
 package com.membership.order.infrastructure.client.dto;
 
+import com.membership.order.domain.value.Money;
 import lombok.Data;
 
-import java.math.BigDecimal;
-
 @Data
 public class ProductDTO {
 
     private Long id;
     private String name;
-    private BigDecimal price;
+    private Money price;
     private Integer stock;
+    private String category;
 
 
 }
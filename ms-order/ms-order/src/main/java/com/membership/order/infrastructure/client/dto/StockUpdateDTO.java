@@ -0,0 +1,13 @@
+package com.membership.order.infrastructure.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateDTO {
+
+    private Integer quantityChange;
+}
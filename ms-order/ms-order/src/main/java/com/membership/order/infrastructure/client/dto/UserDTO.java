@@ -0,0 +1,11 @@
+package com.membership.order.infrastructure.client.dto;
+
+import lombok.Data;
+
+@Data
+public class UserDTO {
+
+    private Long id;
+    private String email;
+    private Boolean active;
+}
@@ -1,5 +1,6 @@
 package com.membership.order.infrastructure.config;
 
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
@@ -8,14 +9,15 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class OrderConfiguration {
 
+    // Construit par RestTemplateBuilder : observation des appels et propagation du contexte de trace (traceparent)
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
         SimpleClientHttpRequestFactory factory =
                 new SimpleClientHttpRequestFactory();
 
         factory.setConnectTimeout(5000);
         factory.setReadTimeout(5000);
 
-        return new RestTemplate(factory);
+        return builder.requestFactory(() -> factory).build();
     }
 }
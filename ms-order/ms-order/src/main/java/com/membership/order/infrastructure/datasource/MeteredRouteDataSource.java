@@ -0,0 +1,75 @@
+package com.membership.order.infrastructure.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compte et chronomètre, par route (primary, replica-N), les connexions obtenues
+ * (une par transaction, au premier ordre SQL) et les requêtes exécutées sur ces connexions.
+ * getTargetDataSource() reste le pool, sans instrumentation.
+ */
+public class MeteredRouteDataSource extends DelegatingDataSource {
+
+    private static final String STARTED_AT = "route.startedAt";
+
+    private final String route;
+    private final Timer acquireTimer;
+    private final DataSource timedQueries;
+
+    public MeteredRouteDataSource(String route, DataSource target, MeterRegistry meterRegistry) {
+        super(target);
+        this.route = route;
+        this.acquireTimer = Timer.builder("datasource.routing.connections")
+                .description("Connexions obtenues par route (primaire / réplica)")
+                .tag("route", route)
+                .register(meterRegistry);
+        Timer queryTimer = Timer.builder("datasource.routing.queries")
+                .description("Durée d'exécution des requêtes par route (primaire / réplica)")
+                .tag("route", route)
+                .register(meterRegistry);
+        this.timedQueries = ProxyDataSourceBuilder.create(route, target)
+                .listener(new QueryTimer(queryTimer))
+                .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return timedQueries.getConnection();
+        } finally {
+            acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    private record QueryTimer(Timer timer) implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+            if (startedAt != null) {
+                timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.membership.order.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Source de données des transactions readOnly : répartit les connexions entre
+ * les réplicas à jour (round-robin) et se rabat sur le primaire quand aucun
+ * réplica n'est utilisable (retard excessif, indisponible, en resynchronisation).
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter lagFallbacks;
+    private final Counter unavailableFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas,
+                                    Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.lagFallbacks = fallbackCounter("lag", meterRegistry);
+        this.unavailableFallbacks = fallbackCounter("unavailable", meterRegistry);
+
+        for (Replica replica : this.replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMillis / 1000.0)
+                    .description("Retard estimé du réplica sur le primaire")
+                    .baseUnit("seconds")
+                    .tag("route", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter fallbackCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("datasource.routing.fallback")
+                .description("Lectures renvoyées sur le primaire faute de réplica utilisable")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        boolean lagging = false;
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            if (replica.lagMillis > maxLag.toMillis()) {
+                lagging = true;
+                continue;
+            }
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException ex) {
+                logger.warn("Réplica {} indisponible, retiré de la rotation: {}",
+                        replica.getName(), ex.getMessage());
+                replica.markUnavailable();
+            }
+        }
+
+        (lagging ? lagFallbacks : unavailableFallbacks).increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource().getTargetDataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    public static class Replica {
+
+        private final MeteredRouteDataSource dataSource;
+        private volatile boolean available;
+        private volatile long lagMillis;
+
+        public Replica(MeteredRouteDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return dataSource.getRoute();
+        }
+
+        public MeteredRouteDataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public void markUnavailable() {
+            this.available = false;
+        }
+
+        public void updateLag(Duration lag) {
+            this.lagMillis = Math.max(lag.toMillis(), 0);
+            this.available = true;
+        }
+    }
+}
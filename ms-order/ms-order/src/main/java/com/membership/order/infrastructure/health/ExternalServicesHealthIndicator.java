@@ -2,6 +2,7 @@ package com.membership.order.infrastructure.health;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
@@ -15,23 +16,25 @@ public class ExternalServicesHealthIndicator implements HealthIndicator {
     private static final Logger logger =
             LoggerFactory.getLogger(ExternalServicesHealthIndicator.class);
 
-    private static final String USER_HEALTH_URL =
-            "http://localhost:8080/actuator/health";
-
-    private static final String PRODUCT_HEALTH_URL =
-            "http://localhost:8082/actuator/health";
+    private static final String HEALTH_PATH = "/actuator/health";
 
     private final RestTemplate restTemplate;
+    private final String userHealthUrl;
+    private final String productHealthUrl;
 
-    public ExternalServicesHealthIndicator(RestTemplate restTemplate) {
+    public ExternalServicesHealthIndicator(RestTemplate restTemplate,
+                                           @Value("${clients.membership.url:http://localhost:8080}") String membershipUrl,
+                                           @Value("${clients.product.url:http://localhost:8082}") String productUrl) {
         this.restTemplate = restTemplate;
+        this.userHealthUrl = membershipUrl + HEALTH_PATH;
+        this.productHealthUrl = productUrl + HEALTH_PATH;
     }
 
     @Override
     public Health health() {
 
-        boolean userServiceUp = isServiceUp(USER_HEALTH_URL, "User");
-        boolean productServiceUp = isServiceUp(PRODUCT_HEALTH_URL, "Product");
+        boolean userServiceUp = isServiceUp(userHealthUrl, "User");
+        boolean productServiceUp = isServiceUp(productHealthUrl, "Product");
 
         if (userServiceUp && productServiceUp) {
             return Health.up()
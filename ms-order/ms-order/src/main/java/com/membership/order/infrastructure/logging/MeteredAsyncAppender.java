@@ -0,0 +1,47 @@
+package com.membership.order.infrastructure.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AsyncAppender borné et non bloquant qui compte les événements perdus (exposés par LoggingMetrics).
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private static final AtomicLong QUEUE_FULL_DROPS = new AtomicLong();
+    private static final AtomicLong THRESHOLD_DISCARDS = new AtomicLong();
+
+    private static volatile MeteredAsyncAppender current;
+
+    @Override
+    public void start() {
+        super.start();
+        current = this;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            THRESHOLD_DISCARDS.incrementAndGet();
+        } else if (isNeverBlock() && remaining == 0) {
+            QUEUE_FULL_DROPS.incrementAndGet();
+        }
+        super.append(event);
+    }
+
+    public static long queueFullDrops() {
+        return QUEUE_FULL_DROPS.get();
+    }
+
+    public static long thresholdDiscards() {
+        return THRESHOLD_DISCARDS.get();
+    }
+
+    public static int queueSize() {
+        MeteredAsyncAppender appender = current;
+        return appender != null && appender.isStarted() ? appender.getNumberOfElementsInQueue() : 0;
+    }
+}
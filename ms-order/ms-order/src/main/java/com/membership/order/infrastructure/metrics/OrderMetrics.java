@@ -1,22 +1,24 @@
 package com.membership.order.infrastructure.metrics;
 
 import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.value.Money;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 @Component
 public class OrderMetrics {
 
     private final Map<OrderStatus, Counter> ordersByStatus;
-    private final AtomicReference<BigDecimal> dailyRevenue;
+    // Centimes : ajout sans allocation ni boucle compare-and-set
+    private final AtomicLong dailyRevenue;
+    private final Counter stockRestoreFailures;
 
     public OrderMetrics(MeterRegistry meterRegistry) {
 
@@ -31,12 +33,16 @@ public class OrderMetrics {
             ordersByStatus.put(status, counter);
         }
 
-        this.dailyRevenue = new AtomicReference<>(BigDecimal.ZERO);
+        this.dailyRevenue = new AtomicLong();
+
+        this.stockRestoreFailures = Counter.builder("orders.stock.restore.failed")
+                .description("Restitutions de stock en échec (annulation ou commande non enregistrée)")
+                .register(meterRegistry);
 
         Gauge.builder(
                         "orders.daily.revenue",
                         dailyRevenue,
-                        value -> value.get().doubleValue()
+                        value -> value.get() / 100.0
                 )
                 .description("Montant total des commandes du jour")
                 .baseUnit("euros")
@@ -52,14 +58,25 @@ public class OrderMetrics {
         }
     }
 
-    public void addRevenue(BigDecimal amount) {
+    public void incrementStatus(OrderStatus status, long count) {
+        Counter counter = ordersByStatus.get(status);
+        if (counter != null && count > 0) {
+            counter.increment(count);
+        }
+    }
+
+    public void incrementStockRestoreFailures() {
+        stockRestoreFailures.increment();
+    }
+
+    public void addRevenue(Money amount) {
         if (amount != null) {
-            dailyRevenue.updateAndGet(current -> current.add(amount));
+            dailyRevenue.addAndGet(amount.minorUnits());
         }
     }
 
 
     public void resetDailyRevenue() {
-        dailyRevenue.set(BigDecimal.ZERO);
+        dailyRevenue.set(0);
     }
 }
@@ -0,0 +1,86 @@
+package com.membership.order.infrastructure.partition;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Partitions mensuelles de orders et order_items (PostgreSQL, RANGE sur order_date) :
+ * tables orders_pAAAAMM / order_items_pAAAAMM, bornes [1er du mois, 1er du mois suivant),
+ * partition orders_default / order_items_default pour les autres dates.
+ */
+final class MonthlyPartitions {
+
+    static final List<String> TABLES = List.of("orders", "order_items");
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private MonthlyPartitions() {
+    }
+
+    static String name(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    static String defaultName(String table) {
+        return table + "_default";
+    }
+
+    static List<String> create(YearMonth month) {
+        List<String> statements = new ArrayList<>(TABLES.size());
+        for (String table : TABLES) {
+            statements.add(createStatement(table, month));
+        }
+        return statements;
+    }
+
+    // Mois dont des lignes sont déjà dans la partition DEFAULT : la création directe échouerait
+    // (contrainte de DEFAULT violée). DEFAULT détachée, lignes du mois déplacées, DEFAULT rattachée ;
+    // à exécuter dans une seule transaction, les écritures sur la table attendent le verrou
+    static List<String> createFromDefault(YearMonth month) {
+        List<String> statements = new ArrayList<>(TABLES.size() * 5);
+        String range = "order_date >= '" + month.atDay(1) + "' AND order_date < '" + month.plusMonths(1).atDay(1) + "'";
+        for (String table : TABLES) {
+            String fallback = defaultName(table);
+            statements.add("ALTER TABLE " + table + " DETACH PARTITION " + fallback);
+            statements.add(createStatement(table, month));
+            statements.add("INSERT INTO " + name(table, month) + " SELECT * FROM " + fallback + " WHERE " + range);
+            statements.add("DELETE FROM " + fallback + " WHERE " + range);
+            statements.add("ALTER TABLE " + table + " ATTACH PARTITION " + fallback + " DEFAULT");
+        }
+        return statements;
+    }
+
+    private static String createStatement(String table, YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + name(table, month) + " PARTITION OF " + table
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    // DETACH : opération de catalogue, sans parcours ni suppression ligne à ligne
+    static List<String> detach(YearMonth month, boolean drop) {
+        List<String> statements = new ArrayList<>();
+        for (String table : TABLES) {
+            String partition = name(table, month);
+            statements.add("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            if (drop) {
+                statements.add("DROP TABLE " + partition);
+            }
+        }
+        return statements;
+    }
+
+    static Optional<YearMonth> month(String table, String partition) {
+        String prefix = table + "_p";
+        if (!partition.startsWith(prefix) || partition.length() != prefix.length() + 6) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partition.substring(prefix.length()), SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
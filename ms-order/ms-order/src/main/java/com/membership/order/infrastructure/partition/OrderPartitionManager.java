@@ -0,0 +1,107 @@
+package com.membership.order.infrastructure.partition;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maintenance des partitions mensuelles (profil postgres, schéma db/postgres/schema.sql) :
+ * au démarrage puis chaque nuit, partitions créées jusqu'à months-ahead mois à l'avance ;
+ * avec retention-months > 0, les mois plus anciens sont détachés (et supprimés si
+ * drop-detached). La partition DEFAULT reçoit les dates hors des mois créés ; ses lignes
+ * passent dans la partition du mois lors de sa création. Une transaction par mois.
+ * Jauge orders.partitions : partitions mensuelles attachées à orders.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "orders.partitioning", name = "enabled", havingValue = "true")
+public class OrderPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPartitionManager.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean dropDetached;
+    private final AtomicInteger attached = new AtomicInteger();
+
+    public OrderPartitionManager(DataSource dataSource,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${orders.partitioning.months-ahead:3}") int monthsAhead,
+                                 @Value("${orders.partitioning.retention-months:0}") int retentionMonths,
+                                 @Value("${orders.partitioning.drop-detached:false}") boolean dropDetached) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Connexions sans auto-commit : chaque opération DDL validée explicitement
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.dropDetached = dropDetached;
+
+        Gauge.builder("orders.partitions", attached, AtomicInteger::get)
+                .description("Partitions mensuelles attachées à orders")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${orders.partitioning.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        ensurePartitions(current, current.plusMonths(monthsAhead));
+        if (retentionMonths > 0) {
+            detachBefore(current.minusMonths(retentionMonths));
+        }
+        attached.set(attachedMonths().size());
+    }
+
+    // Mois [from, to] ; à appeler avant un import de commandes anciennes
+    public void ensurePartitions(YearMonth from, YearMonth to) {
+        List<YearMonth> existing = attachedMonths();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            if (!existing.contains(month)) {
+                List<String> statements = MonthlyPartitions.createFromDefault(month);
+                transactionTemplate.executeWithoutResult(status -> statements.forEach(jdbcTemplate::execute));
+                logger.info("Partition {} créée", MonthlyPartitions.name("orders", month));
+            }
+        }
+    }
+
+    public void detachBefore(YearMonth cutoff) {
+        for (YearMonth month : attachedMonths()) {
+            if (month.isBefore(cutoff)) {
+                List<String> statements = MonthlyPartitions.detach(month, dropDetached);
+                transactionTemplate.executeWithoutResult(status -> statements.forEach(jdbcTemplate::execute));
+                logger.info("Partition {} {}", MonthlyPartitions.name("orders", month),
+                        dropDetached ? "supprimée" : "détachée");
+            }
+        }
+    }
+
+    public List<YearMonth> attachedMonths() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+                        + "WHERE p.relname = 'orders'", String.class)
+                .stream()
+                .map(name -> MonthlyPartitions.month("orders", name))
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList();
+    }
+}
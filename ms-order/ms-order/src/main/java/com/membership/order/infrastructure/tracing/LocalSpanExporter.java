@@ -0,0 +1,139 @@
+package com.membership.order.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exporteur de spans local, sans collecteur : les derniers spans terminés restent en mémoire
+ * (consultables par /actuator/traces) et sont ajoutés, si tracing.local-exporter.file est renseigné,
+ * à un fichier JSON lines (un span par ligne).
+ */
+@Component
+public class LocalSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSpanExporter.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int capacity;
+    private final Deque<LocalSpan> spans = new ArrayDeque<>();
+    private final BufferedWriter file;
+
+    public LocalSpanExporter(@Value("${tracing.local-exporter.capacity:10000}") int capacity,
+                             @Value("${tracing.local-exporter.file:}") String file) throws IOException {
+        this.capacity = capacity;
+        this.file = file.isBlank() ? null : Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData data : batch) {
+            LocalSpan span = LocalSpan.of(data);
+            if (spans.size() >= capacity) {
+                spans.removeFirst();
+            }
+            spans.addLast(span);
+            if (file != null) {
+                try {
+                    file.write(objectMapper.writeValueAsString(span));
+                    file.newLine();
+                } catch (IOException e) {
+                    logger.warn("Écriture du span {} impossible : {}", span.spanId(), e.getMessage());
+                }
+            }
+        }
+        return flush();
+    }
+
+    /** Spans de traceId, dans l'ordre de début. */
+    public synchronized List<LocalSpan> trace(String traceId) {
+        return spans.stream()
+                .filter(span -> span.traceId().equals(traceId))
+                .sorted((a, b) -> Long.compare(a.startEpochNanos(), b.startEpochNanos()))
+                .toList();
+    }
+
+    /** Dernières traces, la plus récente d'abord, résumées par leur span racine. */
+    public synchronized List<TraceSummary> recentTraces(int limit) {
+        Map<String, List<LocalSpan>> byTrace = new LinkedHashMap<>();
+        spans.descendingIterator().forEachRemaining(span ->
+                byTrace.computeIfAbsent(span.traceId(), id -> new ArrayList<>()).add(span));
+        return byTrace.values().stream()
+                .limit(limit)
+                .map(TraceSummary::of)
+                .toList();
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        if (file != null) {
+            try {
+                file.flush();
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    public record LocalSpan(String traceId, String spanId, String parentSpanId, String name, String kind,
+                            long startEpochNanos, double durationMillis, String status,
+                            Map<String, String> attributes) {
+
+        static LocalSpan of(SpanData data) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            data.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+            return new LocalSpan(data.getTraceId(), data.getSpanId(),
+                    data.getParentSpanContext().isValid() ? data.getParentSpanId() : null,
+                    data.getName(), data.getKind().name(), data.getStartEpochNanos(),
+                    (data.getEndEpochNanos() - data.getStartEpochNanos()) / 1e6,
+                    data.getStatus().getStatusCode().name(), attributes);
+        }
+    }
+
+    public record TraceSummary(String traceId, String root, double durationMillis, int spans) {
+
+        // Racine : span sans parent local, à défaut le plus ancien (trace reçue d'un autre service)
+        static TraceSummary of(List<LocalSpan> spans) {
+            LocalSpan root = spans.stream()
+                    .filter(span -> span.parentSpanId() == null)
+                    .findFirst()
+                    .orElseGet(() -> spans.stream()
+                            .min((a, b) -> Long.compare(a.startEpochNanos(), b.startEpochNanos()))
+                            .orElseThrow());
+            return new TraceSummary(root.traceId(), root.name(), root.durationMillis(), spans.size());
+        }
+    }
+}
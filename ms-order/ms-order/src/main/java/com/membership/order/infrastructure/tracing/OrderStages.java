@@ -0,0 +1,51 @@
+package com.membership.order.infrastructure.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Étapes de création de commande observées une à une : un span enfant de la requête par étape
+ * et un timer orders.create.stage{stage} dont l'histogramme porte des exemplaires (traceId).
+ */
+@Component
+public class OrderStages {
+
+    public static final String OBSERVATION = "orders.create.stage";
+
+    public static final String VALIDATE_USER = "validate-user";
+    public static final String FETCH_PRODUCT = "fetch-product";
+    public static final String RESERVE_STOCK = "reserve-stock";
+    public static final String SAVE = "save";
+    public static final String READ_MODELS = "read-models";
+
+    private final ObservationRegistry registry;
+
+    public OrderStages(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T observe(String stage, Supplier<T> work) {
+        return observation(stage).observe(work);
+    }
+
+    public void observe(String stage, Runnable work) {
+        observation(stage).observe(work);
+    }
+
+    public <T> T observe(String stage, Long productId, Supplier<T> work) {
+        return observation(stage).highCardinalityKeyValue("product.id", String.valueOf(productId)).observe(work);
+    }
+
+    public void observe(String stage, Long productId, Runnable work) {
+        observation(stage).highCardinalityKeyValue("product.id", String.valueOf(productId)).observe(work);
+    }
+
+    private Observation observation(String stage) {
+        return Observation.createNotStarted(OBSERVATION, registry)
+                .contextualName("order " + stage)
+                .lowCardinalityKeyValue("stage", stage);
+    }
+}
@@ -0,0 +1,81 @@
+package com.membership.order.infrastructure.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Version d'une ressource ou d'une liste pour les GET conditionnels (ETag fort + Last-Modified).
+ * Une liste est identifiée par (nombre d'éléments, somme des ids, updatedAt le plus récent) :
+ * un ajout, une suppression ou une modification change l'ETag.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public static ResourceVersion of(Long id, LocalDateTime updatedAt) {
+        return new ResourceVersion("\"" + id + "-" + micros(updatedAt) + "\"", millis(updatedAt));
+    }
+
+    public static ResourceVersion ofStamp(long count, long idSum, LocalDateTime lastUpdatedAt) {
+        return new ResourceVersion("\"c" + count + "-" + idSum + "-" + micros(lastUpdatedAt) + "\"",
+                millis(lastUpdatedAt));
+    }
+
+    public static <T> ResourceVersion ofAll(Collection<T> items, Function<T, Long> id,
+                                            Function<T, LocalDateTime> updatedAt) {
+        long idSum = 0;
+        LocalDateTime last = null;
+        for (T item : items) {
+            idSum += id.apply(item);
+            LocalDateTime itemUpdatedAt = updatedAt.apply(item);
+            if (itemUpdatedAt != null && (last == null || itemUpdatedAt.isAfter(last))) {
+                last = itemUpdatedAt;
+            }
+        }
+        return ofStamp(items.size(), idSum, last);
+    }
+
+    /**
+     * If-None-Match prime sur If-Modified-Since (RFC 9110).
+     */
+    public boolean isNotModified(HttpHeaders requestHeaders) {
+        if (!requestHeaders.getIfNoneMatch().isEmpty()) {
+            return requestHeaders.getIfNoneMatch().stream()
+                    .anyMatch(tag -> tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag));
+        }
+        long since = requestHeaders.getIfModifiedSince();
+        return since >= 0 && lastModified >= 0 && lastModified / 1000 <= since / 1000;
+    }
+
+    public <T> ResponseEntity<T> notModified() {
+        return headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+    }
+
+    public <T> ResponseEntity<T> ok(T body) {
+        // Spring répond lui-même 304 sans sérialiser si les en-têtes de la requête correspondent
+        return headers(ResponseEntity.ok()).body(body);
+    }
+
+    private ResponseEntity.BodyBuilder headers(ResponseEntity.BodyBuilder builder) {
+        builder.eTag(etag);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time == null ? 0 : ChronoUnit.MICROS.between(EPOCH, time);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time == null ? -1 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
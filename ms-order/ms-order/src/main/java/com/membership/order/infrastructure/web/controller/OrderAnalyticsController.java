@@ -0,0 +1,53 @@
+package com.membership.order.infrastructure.web.controller;
+
+import com.membership.order.application.dto.DailySalesDTO;
+import com.membership.order.application.dto.SalesBreakdownDTO;
+import com.membership.order.application.service.SalesAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/orders/analytics")
+@Tag(name = "Orders analytics", description = "Ventes agrégées par jour, statut, produit et catégorie")
+public class OrderAnalyticsController {
+
+    private final SalesAnalyticsService analyticsService;
+
+    public OrderAnalyticsController(SalesAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/daily")
+    @Operation(summary = "Commandes et chiffre d'affaires par jour et par statut")
+    public ResponseEntity<List<DailySalesDTO>> daily(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.getDailySales(from, to));
+    }
+
+    @GetMapping("/products")
+    @Operation(summary = "Produits les plus vendus sur la période (ventes nettes)")
+    public ResponseEntity<List<SalesBreakdownDTO>> topProducts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(analyticsService.getTopProducts(from, to, limit));
+    }
+
+    @GetMapping("/categories")
+    @Operation(summary = "Ventes nettes par catégorie de produit sur la période")
+    public ResponseEntity<List<SalesBreakdownDTO>> categories(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.getSalesByCategory(from, to));
+    }
+}
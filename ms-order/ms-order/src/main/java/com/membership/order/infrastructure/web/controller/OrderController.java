@@ -1,19 +1,29 @@
 package com.membership.order.infrastructure.web.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.membership.order.application.dto.BulkStatusOutcomeDTO;
+import com.membership.order.application.dto.BulkStatusUpdateRequestDTO;
 import com.membership.order.application.dto.OrderRequestDTO;
 import com.membership.order.application.dto.OrderResponseDTO;
+import com.membership.order.application.dto.UserOrderSummaryDTO;
 import com.membership.order.application.service.OrderService;
 import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.infrastructure.web.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -22,35 +32,72 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.objectMapper = objectMapper;
     }
 
 
+    // GET conditionnels : la version est lue (une colonne / un agrégat) avant de charger les commandes,
+    // un client à jour reçoit 304 sans chargement ni sérialisation
+
     @GetMapping
     @Operation(summary = "Récupérer toutes les commandes")
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<List<OrderResponseDTO>> getAllOrders(@RequestHeader HttpHeaders headers) {
+        ResourceVersion version = orderService.getAllOrdersVersion();
+        if (version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        return listVersion(orderService.getAllOrders());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Récupérer une commande par ID")
-    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.getOrderById(id));
+    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id,
+                                                         @RequestHeader HttpHeaders headers) {
+        ResourceVersion version = orderService.getOrderVersion(id);
+        if (version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        OrderResponseDTO order = orderService.getOrderById(id);
+        return ResourceVersion.of(order.getId(), order.getUpdatedAt()).ok(order);
     }
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Récupérer les commandes d'un utilisateur")
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(orderService.getOrdersByUser(userId));
+    public ResponseEntity<List<OrderResponseDTO>> getOrdersByUser(@PathVariable Long userId,
+                                                                  @RequestHeader HttpHeaders headers) {
+        ResourceVersion version = orderService.getOrdersByUserVersion(userId);
+        if (version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        return listVersion(orderService.getOrdersByUser(userId));
+    }
+
+    @GetMapping("/user/{userId}/summary")
+    @Operation(summary = "Résumé des commandes d'un utilisateur (compteurs par statut, dépenses, dernières commandes)")
+    public ResponseEntity<UserOrderSummaryDTO> getUserSummary(@PathVariable Long userId) {
+        return ResponseEntity.ok(orderService.getUserSummary(userId));
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Récupérer les commandes par statut")
     public ResponseEntity<List<OrderResponseDTO>> getOrdersByStatus(
-            @PathVariable OrderStatus status) {
-        return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+            @PathVariable OrderStatus status,
+            @RequestHeader HttpHeaders headers) {
+        ResourceVersion version = orderService.getOrdersByStatusVersion(status);
+        if (version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        return listVersion(orderService.getOrdersByStatus(status));
+    }
+
+    // Version calculée sur la liste renvoyée : l'ETag correspond toujours au corps
+    private static ResponseEntity<List<OrderResponseDTO>> listVersion(List<OrderResponseDTO> orders) {
+        return ResourceVersion.ofAll(orders, OrderResponseDTO::getId, OrderResponseDTO::getUpdatedAt)
+                .ok(orders);
     }
 
 
@@ -75,6 +122,25 @@ public class OrderController {
         return ResponseEntity.ok(orderService.updateOrderStatus(id, status));
     }
 
+    // Une ligne JSON par commande ({"id":..,"outcome":..}), envoyée au client à chaque tranche validée
+    @PutMapping(value = "/status", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Mettre à jour le statut d'un lot de commandes (liste d'ids ou filtre sur le statut courant)")
+    public ResponseEntity<StreamingResponseBody> updateOrderStatuses(
+            @Valid @RequestBody BulkStatusUpdateRequestDTO request) {
+        StreamingResponseBody body = out -> orderService.updateOrderStatuses(request, chunk -> {
+            try {
+                for (BulkStatusOutcomeDTO outcome : chunk) {
+                    out.write(objectMapper.writeValueAsBytes(outcome));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
 
     @PatchMapping("/{id}/cancel")
     @Operation(summary = "Annuler une commande")
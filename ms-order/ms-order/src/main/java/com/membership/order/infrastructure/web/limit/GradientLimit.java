@@ -0,0 +1,79 @@
+package com.membership.order.infrastructure.web.limit;
+
+/**
+ * Limite de concurrence adaptative (gradient) : la latence courte (moyenne mobile sur ~50
+ * requêtes) est comparée à la latence de référence (moyenne mobile sur ~600 requêtes). Une
+ * latence courte qui monte signale une file d'attente en aval ou sur les threads : la limite
+ * baisse (jusqu'à moitié par échantillon) ; une latence stable, même dispersée, la fait croître
+ * de √limite, lissé. Après un épisode lent, la référence redescend progressivement (-5 % par
+ * échantillon tant qu'elle dépasse le double de la latence courte). Pas d'ajustement quand moins
+ * de la moitié de la limite est utilisée : la charge ne dit alors rien de la capacité.
+ */
+public class GradientLimit {
+
+    // Premiers échantillons : moyenne simple, sans ajustement de la limite
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double SHORT_RTT_ALPHA = 2.0 / 51;
+    private static final double LONG_RTT_ALPHA = 2.0 / 601;
+    private static final double LONG_RTT_DECAY = 0.95;
+    private static final double SMOOTHING = 0.2;
+    // Latence tolérée au-dessus de la référence avant de réduire la limite
+    private static final double TOLERANCE = 1.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private int samples;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private int inflight;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /** Faux si la limite est atteinte : la requête doit être rejetée. */
+    public synchronized boolean tryAcquire() {
+        if (inflight >= (int) limit) {
+            return false;
+        }
+        inflight++;
+        return true;
+    }
+
+    public synchronized void release(long rttNanos) {
+        int inflightAtStart = inflight;
+        inflight--;
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (samples < WARMUP_SAMPLES) {
+            samples++;
+            longRttNanos += (rttNanos - longRttNanos) / samples;
+            shortRttNanos = longRttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) * SHORT_RTT_ALPHA;
+        longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_ALPHA;
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= LONG_RTT_DECAY;
+        }
+        if (inflightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inflight() {
+        return inflight;
+    }
+}
@@ -0,0 +1,93 @@
+-- Schéma PostgreSQL de ms-order (profil postgres), rejouable à chaque démarrage.
+-- orders et order_items : partitionnés par mois de order_date (partitions créées par
+-- OrderPartitionManager). La clé primaire inclut order_date, colonne de partitionnement ;
+-- pas de clé étrangère order_items -> orders, une partition se détache sans vérification.
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sales_daily_status_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sales_daily_product_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS orders (
+    id               BIGINT         NOT NULL,
+    user_id          BIGINT         NOT NULL,
+    order_date       TIMESTAMP(6)   NOT NULL,
+    status           VARCHAR(20)    NOT NULL,
+    total_amount     NUMERIC(12, 2) NOT NULL,
+    shipping_address VARCHAR(255)   NOT NULL,
+    created_at       TIMESTAMP(6)   NOT NULL,
+    updated_at       TIMESTAMP(6),
+    PRIMARY KEY (id, order_date)
+) PARTITION BY RANGE (order_date);
+
+CREATE TABLE IF NOT EXISTS orders_default PARTITION OF orders DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_date ON orders (user_id, order_date);
+CREATE INDEX IF NOT EXISTS idx_orders_status_date ON orders (status, order_date);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id               BIGINT         NOT NULL,
+    order_id         BIGINT         NOT NULL,
+    order_date       TIMESTAMP(6)   NOT NULL,
+    product_id       BIGINT         NOT NULL,
+    product_name     VARCHAR(150)   NOT NULL,
+    product_category VARCHAR(50),
+    quantity         INTEGER        NOT NULL,
+    unit_price       NUMERIC(10, 2) NOT NULL,
+    subtotal         NUMERIC(12, 2) NOT NULL,
+    PRIMARY KEY (id, order_date)
+) PARTITION BY RANGE (order_date);
+
+CREATE TABLE IF NOT EXISTS order_items_default PARTITION OF order_items DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items (order_id, order_date);
+
+CREATE TABLE IF NOT EXISTS user_order_summary (
+    user_id          BIGINT         NOT NULL PRIMARY KEY,
+    version          BIGINT,
+    pending_count    BIGINT         NOT NULL,
+    confirmed_count  BIGINT         NOT NULL,
+    shipped_count    BIGINT         NOT NULL,
+    delivered_count  BIGINT         NOT NULL,
+    cancelled_count  BIGINT         NOT NULL,
+    lifetime_spend   NUMERIC(14, 2) NOT NULL,
+    first_order_date TIMESTAMP(6),
+    last_order_date  TIMESTAMP(6),
+    recent_order_ids VARCHAR(512),
+    complete         BOOLEAN        NOT NULL DEFAULT FALSE
+);
+-- Bases créées avant la colonne : résumés non complets jusqu'à la reprise (ORDER_SUMMARY_BACKFILL)
+ALTER TABLE user_order_summary ADD COLUMN IF NOT EXISTS complete BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE TABLE IF NOT EXISTS sales_daily_status (
+    id          BIGINT         NOT NULL PRIMARY KEY,
+    sales_date  DATE           NOT NULL,
+    status      VARCHAR(20)    NOT NULL,
+    order_count BIGINT         NOT NULL,
+    revenue     NUMERIC(14, 2) NOT NULL,
+    UNIQUE (sales_date, status)
+);
+
+CREATE TABLE IF NOT EXISTS sales_daily_product (
+    id         BIGINT         NOT NULL PRIMARY KEY,
+    sales_date DATE           NOT NULL,
+    product_id BIGINT         NOT NULL,
+    category   VARCHAR(50),
+    quantity   BIGINT         NOT NULL,
+    revenue    NUMERIC(14, 2) NOT NULL,
+    UNIQUE (sales_date, product_id)
+);
+
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    user_id      BIGINT       NOT NULL,
+    status       VARCHAR(20)  NOT NULL,
+    order_date   TIMESTAMP(6) NOT NULL,
+    total_amount NUMERIC(12, 2) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    archived_at  TIMESTAMP(6) NOT NULL,
+    payload      BYTEA        NOT NULL,
+    payload_size INTEGER      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_archive_user ON orders_archive (user_id);
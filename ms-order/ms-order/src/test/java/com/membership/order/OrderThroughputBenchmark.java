@@ -0,0 +1,139 @@
+package com.membership.order;
+
+import com.membership.order.infrastructure.client.stub.DependencyStubServer;
+import com.membership.order.infrastructure.client.stub.FaultProfile;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Débit de POST /api/v1/orders selon le mode d'exécution (threads de plateforme / virtuels),
+ * ms-membership et ms-product remplacés par DependencyStubServer (port libre, URLs des clients
+ * redirigées). Latence injectée --latency=50 (ms) ou distribution (lognormal:20:250), défauts
+ * --errors=, --resets=, --slow-body= appliqués aux deux API (voir FaultProfile.fromOptions).
+ * Boucle fermée : chaque client virtuel renvoie une commande dès la réponse précédente reçue.
+ *
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.membership.order.OrderThroughputBenchmark \
+ *      --latency=50 --clients=400 --duration=15 --warmup=5
+ */
+public class OrderThroughputBenchmark {
+
+    private static final String ORDER =
+            "{\"userId\":1,\"shippingAddress\":\"1 rue de la Paix, Paris\",\"items\":[{\"productId\":1,\"quantity\":1}]}";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        options.putIfAbsent("latency", "50");
+        FaultProfile profile = FaultProfile.fromOptions(options, "");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "400"));
+        int seconds = Integer.parseInt(options.getOrDefault("duration", "15"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        List<String> modes = List.of(options.getOrDefault("modes", "platform,virtual").split(","));
+
+        try (DependencyStubServer stub = DependencyStubServer.start(0).membership(profile).product(profile)) {
+            System.out.printf("latence injectée %s par appel, %d clients%n", options.get("latency"), clients);
+            System.out.printf("%-9s %10s %9s %9s %9s %8s%n", "mode", "cmd/s", "p50 ms", "p99 ms", "max ms", "erreurs");
+            for (String mode : modes) {
+                // Arguments de ligne de commande : priment sur application.yml (server.port notamment)
+                try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderApplication.class)
+                        .run("--server.port=18083",
+                                "--spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                                "--spring.jpa.show-sql=false",
+                                "--logging.level.root=WARN",
+                                "--clients.product.wire-format=json",
+                                "--clients.membership.url=" + stub.url(),
+                                "--clients.product.url=" + stub.url())) {
+                    run(clients, warmup); // échauffement (chargement de classes, JIT), non mesuré
+                    Result result = run(clients, seconds);
+                    System.out.printf("%-9s %10.0f %9.1f %9.1f %9.1f %8d%n", mode, result.throughput(),
+                            result.percentile(50), result.percentile(99), result.percentile(100), result.errors());
+                }
+            }
+        }
+    }
+
+    static Result run(int clients, int seconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:18083/api/v1/orders"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(ORDER))
+                .build();
+
+        List<long[]> latencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] samples = new long[1 << 16];
+                latencies.add(samples);
+                executor.execute(() -> {
+                    int count = 0;
+                    while (System.nanoTime() < deadline && count < samples.length - 1) {
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status != 201) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        samples[++count] = System.nanoTime() - sent;
+                    }
+                    samples[0] = count;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] all = latencies.stream()
+                .flatMapToLong(samples -> Arrays.stream(samples, 1, (int) samples[0] + 1))
+                .sorted()
+                .toArray();
+        return new Result(all, all.length * 1e9 / elapsed, errors.get());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        return options;
+    }
+
+    record Result(long[] sortedLatencies, double throughput, long errors) {
+
+        double percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.membership.order.Security;
+
+import com.membership.order.infrastructure.client.UserClient;
+import com.membership.order.infrastructure.client.batch.ClientBatching;
+import com.membership.order.infrastructure.client.stub.DependencyStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderUserValidatorTest {
+
+    private DependencyStubServer membership;
+    private UserClient userClient;
+
+    @BeforeEach
+    void startMembership() throws IOException {
+        membership = DependencyStubServer.start(0);
+        userClient = new UserClient(new RestTemplate(), membership.url(), Duration.ofMinutes(5),
+                ClientBatching.disabled());
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        SecurityContextHolder.clearContext();
+        membership.close();
+    }
+
+    @Test
+    void tokenOfTheOrderingUserSkipsMembership() {
+        authenticate(7L, "USER");
+
+        validator("token").validate(7L);
+
+        assertEquals(0, membership.membershipRequests());
+    }
+
+    @Test
+    void orderingForAnotherUserNeedsAnOnBehalfRole() {
+        authenticate(7L, "USER");
+        assertThrows(AccessDeniedException.class, () -> validator("token").validate(8L));
+        assertEquals(0, membership.membershipRequests());
+
+        authenticate(1L, "ADMIN");
+        OrderUserValidator validator = validator("token");
+        validator.validate(8L);
+        validator.validate(8L);
+        assertEquals(1, membership.membershipRequests());
+    }
+
+    @Test
+    void anonymousOrdersAreNeverServedFromTheCache() {
+        OrderUserValidator validator = validator("token");
+
+        validator.validate(8L);
+        validator.validate(8L);
+
+        assertEquals(2, membership.membershipRequests());
+    }
+
+    @Test
+    void remoteModeChecksEveryOrder() {
+        authenticate(7L, "USER");
+        OrderUserValidator validator = validator("remote");
+
+        validator.validate(7L);
+        validator.validate(7L);
+
+        assertEquals(2, membership.membershipRequests());
+    }
+
+    private OrderUserValidator validator(String mode) {
+        return new OrderUserValidator(userClient, new SimpleMeterRegistry(), mode);
+    }
+
+    private static void authenticate(Long userId, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userId, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+}
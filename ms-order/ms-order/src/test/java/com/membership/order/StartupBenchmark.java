@@ -0,0 +1,143 @@
+package com.membership.order;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Démarrage à froid d'un service selon le mode de lancement :
+ * jar (java -jar classique), aot (traitement AOT Spring), aot-cds (AOT + archive AppCDS).
+ * Mesure le délai jusqu'à la première réponse HTTP et la mémoire résidente (VmRSS, Linux) à cet instant.
+ *
+ * Artefacts produits au préalable par mvn -Pfast-startup package -DskipTests dans le service mesuré, puis :
+ * mvn -B test-compile
+ * java -cp target/test-classes com.membership.order.StartupBenchmark \
+ *      --service=. --port=8083 --path=/actuator/health --runs=5 --modes=jar,aot,aot-cds
+ * (--service=../../ms-product/ms-product --port=8082 pour un autre service)
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path service = Path.of(options.getOrDefault("service", ".")).toAbsolutePath().normalize();
+        int port = Integer.parseInt(options.getOrDefault("port", "8083"));
+        String path = options.getOrDefault("path", "/actuator/health");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> modes = List.of(options.getOrDefault("modes", "jar,aot,aot-cds").split(","));
+
+        System.out.printf("%s, %d démarrages par mode (médianes)%n", service.getFileName(), runs);
+        System.out.printf("%-8s %14s %10s%n", "mode", "1re réponse ms", "RSS Mo");
+        for (String mode : modes) {
+            long[] firstResponse = new long[runs];
+            long[] rss = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                Sample sample = start(command(service, mode, port), service, port, path);
+                firstResponse[run] = sample.firstResponseMillis();
+                rss[run] = sample.rssKilobytes();
+            }
+            System.out.printf("%-8s %14d %10d%n", mode, median(firstResponse), median(rss) / 1024);
+        }
+    }
+
+    static List<String> command(Path service, String mode, int port) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        Path fastStartup = service.resolve("target/fast-startup");
+        switch (mode) {
+            case "jar" -> command.addAll(List.of("-jar", bootJar(service).toString()));
+            case "aot" -> command.addAll(List.of("-Dspring.aot.enabled=true",
+                    "-jar", fastStartup.resolve("app.jar").toString()));
+            case "aot-cds" -> command.addAll(List.of("-Dspring.aot.enabled=true",
+                    "-XX:SharedArchiveFile=" + fastStartup.resolve("app.jsa"),
+                    "-jar", fastStartup.resolve("app.jar").toString()));
+            default -> throw new IllegalArgumentException("Mode inconnu : " + mode);
+        }
+        command.add("--server.port=" + port);
+        return command;
+    }
+
+    static Sample start(List<String> command, Path service, int port, String path) throws Exception {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(service.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Arrêt prématuré (code " + process.exitValue() + ") : " + command);
+                }
+                try {
+                    // Toute réponse compte, 401 compris : le service traite des requêtes
+                    http.send(request, HttpResponse.BodyHandlers.discarding());
+                    break;
+                } catch (ConnectException e) {
+                    Thread.sleep(5);
+                }
+            }
+            long firstResponse = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new Sample(firstResponse, rssKilobytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static Path bootJar(Path service) throws IOException {
+        try (Stream<Path> jars = Files.list(service.resolve("target"))) {
+            return jars.filter(jar -> jar.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Aucun jar dans " + service.resolve("target")));
+        }
+    }
+
+    // /proc/<pid>/status, ligne "VmRSS:  123456 kB"
+    private static long rssKilobytes(long pid) throws IOException {
+        try (Stream<String> lines = Files.lines(Path.of("/proc", Long.toString(pid), "status"))) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.replaceAll("\\D", ""))
+                    .mapToLong(Long::parseLong)
+                    .findFirst()
+                    .orElse(-1);
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        return options;
+    }
+
+    record Sample(long firstResponseMillis, long rssKilobytes) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.BulkStatusOutcomeDTO;
+import com.membership.order.application.dto.BulkStatusUpdateRequestDTO;
+import com.membership.order.application.dto.DailySalesDTO;
+import com.membership.order.application.dto.UserOrderSummaryDTO;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.value.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "orders.bulk-status.chunk-size=2")
+@AutoConfigureMockMvc(addFilters = false)
+class BulkStatusUpdateTest {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    UserOrderSummaryService summaryService;
+
+    @Autowired
+    SalesAnalyticsService analyticsService;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void listedOrdersFollowTheSingleOrderRules() {
+        LocalDate day = LocalDate.of(2019, 5, 2);
+        Order pending = create(501L, day, OrderStatus.PENDING, "20.00");
+        Order confirmed = create(501L, day, OrderStatus.CONFIRMED, "30.00");
+        Order delivered = create(501L, day, OrderStatus.DELIVERED, "40.00");
+
+        BulkStatusUpdateRequestDTO request = new BulkStatusUpdateRequestDTO();
+        request.setStatus(OrderStatus.CANCELLED);
+        request.setIds(List.of(pending.getId(), confirmed.getId(), delivered.getId(), -1L, pending.getId()));
+        List<BulkStatusOutcomeDTO> outcomes = new ArrayList<>();
+        orderService.updateOrderStatuses(request, outcomes::addAll);
+
+        assertEquals(List.of(
+                new BulkStatusOutcomeDTO(pending.getId(), BulkStatusOutcomeDTO.Outcome.UPDATED),
+                new BulkStatusOutcomeDTO(confirmed.getId(), BulkStatusOutcomeDTO.Outcome.UPDATED),
+                new BulkStatusOutcomeDTO(delivered.getId(), BulkStatusOutcomeDTO.Outcome.REJECTED),
+                new BulkStatusOutcomeDTO(-1L, BulkStatusOutcomeDTO.Outcome.NOT_FOUND)), outcomes);
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(confirmed.getId()).orElseThrow().getStatus());
+        assertEquals(OrderStatus.DELIVERED, orderRepository.findById(delivered.getId()).orElseThrow().getStatus());
+
+        UserOrderSummaryDTO summary = summaryService.getSummary(501L);
+        assertEquals(2, summary.getOrdersByStatus().get(OrderStatus.CANCELLED));
+        assertEquals(0, summary.getOrdersByStatus().get(OrderStatus.PENDING));
+        assertEquals(0, new BigDecimal("40.00").compareTo(summary.getLifetimeSpend()));
+
+        DailySalesDTO sales = analyticsService.getDailySales(day, day).get(0);
+        assertEquals(1, sales.getOrderCount());
+        assertEquals(2, sales.getOrdersByStatus().get(OrderStatus.CANCELLED));
+        assertEquals(1, analyticsService.getTopProducts(day, day, 1).get(0).getQuantity());
+    }
+
+    @Test
+    void filterStreamsOneLinePerOrder() throws Exception {
+        LocalDate day = LocalDate.of(2018, 11, 20);
+        Order first = create(502L, day, OrderStatus.CONFIRMED, "10.00");
+        Order second = create(502L, day, OrderStatus.CONFIRMED, "10.00");
+        Order third = create(502L, day, OrderStatus.CONFIRMED, "10.00");
+
+        MvcResult started = mockMvc.perform(put("/api/v1/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SHIPPED\",\"currentStatus\":\"CONFIRMED\","
+                                + "\"orderedBefore\":\"2018-11-21T00:00:00\"}"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        line(first) + line(second) + line(third)));
+
+        assertEquals(3, summaryService.getSummary(502L).getOrdersByStatus().get(OrderStatus.SHIPPED));
+
+        mockMvc.perform(put("/api/v1/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String line(Order order) {
+        return "{\"id\":" + order.getId() + ",\"outcome\":\"UPDATED\"}\n";
+    }
+
+    private Order create(Long userId, LocalDate day, OrderStatus status, String amount) {
+        LocalDateTime date = day.atTime(10, 0);
+        Order order = new Order(null, userId, date, status, Money.parse(amount),
+                "1 rue de la Paix, Paris", date, date);
+        OrderItem item = new OrderItem(null, null, 700L + userId, "Lampe", 1,
+                Money.parse(amount), Money.parse(amount));
+        item.setProductCategory("HOME");
+        order.addItem(item);
+        return transactionTemplate.execute(tx -> {
+            Order saved = orderRepository.save(order);
+            summaryService.recordNewOrder(saved);
+            analyticsService.recordNewOrder(saved);
+            return saved;
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.OrderResponseDTO;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.value.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "orders.archive.chunk-size=1")
+class OrderArchiveServiceTest {
+
+    @Autowired
+    OrderArchiveService archiveService;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    UserOrderSummaryService summaryService;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void terminalOrdersMoveToTheArchiveAndStayReadable() {
+        LocalDateTime old = LocalDateTime.now().minusYears(1);
+        Order delivered = create(601L, OrderStatus.DELIVERED, old);
+        Order cancelled = create(601L, OrderStatus.CANCELLED, old);
+        Order shipped = create(601L, OrderStatus.SHIPPED, old);
+        Order recent = create(601L, OrderStatus.DELIVERED, LocalDateTime.now());
+        String etag = orderService.getOrdersByUserVersion(601L).etag();
+
+        assertTrue(archiveService.archive() >= 2);
+
+        assertFalse(orderRepository.existsById(delivered.getId()));
+        assertTrue(orderRepository.existsById(shipped.getId()));
+        assertTrue(orderRepository.existsById(recent.getId()));
+
+        OrderResponseDTO archived = orderService.getOrderById(delivered.getId());
+        assertEquals(OrderStatus.DELIVERED, archived.getStatus());
+        assertEquals(Money.parse("25.00"), archived.getTotalAmount());
+        assertEquals("Lampe", archived.getItems().get(0).getProductName());
+
+        List<Long> ids = orderService.getOrdersByUser(601L).stream().map(OrderResponseDTO::getId).sorted().toList();
+        assertEquals(List.of(delivered.getId(), cancelled.getId(), shipped.getId(), recent.getId()), ids);
+        assertEquals(etag, orderService.getOrdersByUserVersion(601L).etag());
+
+        assertTrue(meterRegistry.get("orders.archive.size").gauge().value() >= 2);
+        assertTrue(meterRegistry.get("orders.archive.bytes").gauge().value() > 0);
+        assertTrue(meterRegistry.get("orders.archive.archived").counter().count() >= 2);
+    }
+
+    @Test
+    void archivedOrdersMissingFromTheSummaryAreStillListed() {
+        LocalDateTime old = LocalDateTime.now().minusYears(1);
+        Order delivered = transactionTemplate.execute(tx -> orderRepository.save(order(602L, OrderStatus.DELIVERED, old)));
+        Order recent = create(602L, OrderStatus.PENDING, LocalDateTime.now());
+        String etag = orderService.getOrdersByUserVersion(602L).etag();
+
+        assertTrue(archiveService.archive() >= 1);
+
+        assertEquals(1, summaryService.getSummary(602L).getTotalOrders());
+        List<Long> ids = orderService.getOrdersByUser(602L).stream().map(OrderResponseDTO::getId).sorted().toList();
+        assertEquals(List.of(delivered.getId(), recent.getId()), ids);
+        assertEquals(etag, orderService.getOrdersByUserVersion(602L).etag());
+    }
+
+    @Test
+    void hotOrdersOlderThanTheSummaryAreStillListed() {
+        Order old = transactionTemplate.execute(tx -> orderRepository.save(order(603L, OrderStatus.SHIPPED,
+                LocalDateTime.now().minusMonths(2))));
+        Order recent = create(603L, OrderStatus.PENDING, LocalDateTime.now());
+
+        List<Long> ids = orderService.getOrdersByUser(603L).stream().map(OrderResponseDTO::getId).sorted().toList();
+        assertEquals(List.of(old.getId(), recent.getId()), ids);
+    }
+
+    private Order create(Long userId, OrderStatus status, LocalDateTime date) {
+        Order order = order(userId, status, date);
+        return transactionTemplate.execute(tx -> {
+            Order saved = orderRepository.save(order);
+            summaryService.recordNewOrder(saved);
+            return saved;
+        });
+    }
+
+    private static Order order(Long userId, OrderStatus status, LocalDateTime date) {
+        Order order = new Order(null, userId, date, status, Money.parse("25.00"),
+                "1 rue de la Paix, Paris", date, date);
+        OrderItem item = new OrderItem(null, null, 42L, "Lampe", 1,
+                Money.parse("25.00"), Money.parse("25.00"));
+        order.addItem(item);
+        return order;
+    }
+}
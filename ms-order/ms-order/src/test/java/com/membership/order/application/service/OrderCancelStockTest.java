@@ -0,0 +1,85 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.OrderItemRequestDTO;
+import com.membership.order.application.dto.OrderRequestDTO;
+import com.membership.order.application.dto.OrderResponseDTO;
+import com.membership.order.domain.entity.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Annulation dans la transaction (release-connection-during-remote-calls désactivé) :
+ * une restitution de stock en échec annule l'annulation.
+ */
+@SpringBootTest(properties = {
+        "orders.transactions.release-connection-during-remote-calls=false",
+        "orders.user-validation.mode=token"
+})
+class OrderCancelStockTest {
+
+    private static final long USER_ID = 702L;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    OrderStockReservationTest.StubProductClient productClient;
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USER_ID, null, List.of()));
+        productClient.reset();
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void failedRestoreRollsTheCancellationBack() {
+        productClient.product(1L, "Clavier", 10);
+        OrderResponseDTO order = orderService.createOrder(request());
+        productClient.failRestores.add(1L);
+
+        assertThrows(IllegalStateException.class, () -> orderService.cancelOrder(order.getId()));
+
+        assertEquals(OrderStatus.PENDING, orderService.getOrderById(order.getId()).getStatus());
+        assertEquals(List.of("1:-1"), productClient.updates);
+    }
+
+    private static OrderRequestDTO request() {
+        OrderItemRequestDTO item = new OrderItemRequestDTO();
+        item.setProductId(1L);
+        item.setQuantity(1);
+        OrderRequestDTO request = new OrderRequestDTO();
+        request.setUserId(USER_ID);
+        request.setShippingAddress("1 rue de la Paix, Paris");
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        @Primary
+        OrderStockReservationTest.StubProductClient stubProductClient() {
+            return new OrderStockReservationTest.StubProductClient();
+        }
+    }
+}
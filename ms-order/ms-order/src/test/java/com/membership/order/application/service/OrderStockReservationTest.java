@@ -0,0 +1,164 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.OrderItemRequestDTO;
+import com.membership.order.application.dto.OrderRequestDTO;
+import com.membership.order.domain.value.Money;
+import com.membership.order.infrastructure.client.ProductClient;
+import com.membership.order.infrastructure.client.batch.ClientBatching;
+import com.membership.order.infrastructure.client.dto.ProductDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Réservations de stock faites hors transaction (release-connection-during-remote-calls) :
+ * rendues quand la commande n'est pas enregistrée, restitutions en échec comptées.
+ */
+@SpringBootTest(properties = {
+        "orders.transactions.release-connection-during-remote-calls=true",
+        "orders.user-validation.mode=token"
+})
+class OrderStockReservationTest {
+
+    private static final long USER_ID = 701L;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    StubProductClient productClient;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USER_ID, null, List.of()));
+        productClient.reset();
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void reservationsAreReleasedWhenALaterItemFails() {
+        productClient.product(1L, "Clavier", 10);
+        productClient.product(2L, "Souris", 0);
+
+        assertThrows(IllegalStateException.class, () -> orderService.createOrder(request(1L, 2L)));
+
+        assertEquals(List.of("1:-1", "1:1"), productClient.updates);
+    }
+
+    @Test
+    void reservationsAreReleasedWhenTheOrderIsNotSaved() {
+        productClient.product(1L, "Clavier", 10);
+        // Nom obligatoire en base : l'INSERT échoue au commit
+        productClient.product(2L, null, 10);
+
+        assertThrows(RuntimeException.class, () -> orderService.createOrder(request(1L, 2L)));
+
+        assertEquals(List.of("1:-1", "2:-1", "1:1", "2:1"), productClient.updates);
+    }
+
+    @Test
+    void failedRestoresAreCountedAndDoNotStopTheOthers() {
+        productClient.product(1L, "Clavier", 10);
+        productClient.product(2L, "Souris", 10);
+        productClient.product(3L, "Écran", 0);
+        productClient.failRestores.add(1L);
+        double before = meterRegistry.counter("orders.stock.restore.failed").count();
+
+        assertThrows(IllegalStateException.class, () -> orderService.createOrder(request(1L, 2L, 3L)));
+
+        assertEquals(List.of("1:-1", "2:-1", "2:1"), productClient.updates);
+        assertEquals(before + 1, meterRegistry.counter("orders.stock.restore.failed").count());
+    }
+
+    private static OrderRequestDTO request(Long... productIds) {
+        OrderRequestDTO request = new OrderRequestDTO();
+        request.setUserId(USER_ID);
+        request.setShippingAddress("1 rue de la Paix, Paris");
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        for (Long productId : productIds) {
+            OrderItemRequestDTO item = new OrderItemRequestDTO();
+            item.setProductId(productId);
+            item.setQuantity(1);
+            items.add(item);
+        }
+        request.setItems(items);
+        return request;
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        @Primary
+        StubProductClient stubProductClient() {
+            return new StubProductClient();
+        }
+    }
+
+    // ms-product simulé en mémoire : journal des mouvements de stock "produit:quantité"
+    static class StubProductClient extends ProductClient {
+
+        final Map<Long, ProductDTO> products = new HashMap<>();
+        final Set<Long> failRestores = new HashSet<>();
+        final List<String> updates = new ArrayList<>();
+
+        StubProductClient() {
+            super(new RestTemplate(), null, "http://localhost:0", "json", ClientBatching.disabled());
+        }
+
+        void reset() {
+            products.clear();
+            failRestores.clear();
+            updates.clear();
+        }
+
+        void product(Long id, String name, int stock) {
+            ProductDTO product = new ProductDTO();
+            product.setId(id);
+            product.setName(name);
+            product.setPrice(Money.parse("10.00"));
+            product.setStock(stock);
+            products.put(id, product);
+        }
+
+        @Override
+        public ProductDTO getProduct(Long productId) {
+            return products.get(productId);
+        }
+
+        @Override
+        public void updateStock(Long productId, int quantityChange) {
+            if (quantityChange > 0 && failRestores.contains(productId)) {
+                throw new IllegalStateException("ms-product indisponible");
+            }
+            updates.add(productId + ":" + quantityChange);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.DailySalesDTO;
+import com.membership.order.application.dto.SalesBreakdownDTO;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.value.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import({SalesAnalyticsService.class, ReadModelRows.class})
+// Pool Hikari de l'application (auto-commit désactivé) : les verrous de ligne tiennent jusqu'au commit
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:sales-test")
+class SalesAnalyticsServiceTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2026, 3, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    SalesAnalyticsService analyticsService;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    void rollupsFollowCreationsAndCancellations() {
+        create(DAY_1, item(1L, "ELECTRONICS", 2, "50.00"), item(2L, "BOOKS", 1, "10.00"));
+        Order cancelled = create(DAY_1, item(1L, "ELECTRONICS", 1, "25.00"));
+        Order shipped = create(DAY_2, item(2L, "BOOKS", 3, "30.00"));
+
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        analyticsService.recordStatusChange(cancelled, OrderStatus.PENDING);
+        shipped.setStatus(OrderStatus.SHIPPED);
+        analyticsService.recordStatusChange(shipped, OrderStatus.PENDING);
+
+        List<DailySalesDTO> daily = analyticsService.getDailySales(DAY_1, DAY_2);
+        assertEquals(2, daily.size());
+        assertEquals(1, daily.get(0).getOrderCount());
+        assertAmount("60.00", daily.get(0).getRevenue());
+        assertEquals(1, daily.get(0).getOrdersByStatus().get(OrderStatus.CANCELLED));
+        assertEquals(1, daily.get(0).getOrdersByStatus().get(OrderStatus.PENDING));
+        assertEquals(1, daily.get(1).getOrdersByStatus().get(OrderStatus.SHIPPED));
+        assertEquals(0, daily.get(1).getOrdersByStatus().get(OrderStatus.PENDING));
+
+        List<SalesBreakdownDTO> products = analyticsService.getTopProducts(DAY_1, DAY_2, 10);
+        assertEquals(1L, products.get(0).getProductId());
+        assertEquals(2, products.get(0).getQuantity());
+        assertAmount("50.00", products.get(0).getRevenue());
+        assertEquals(2L, products.get(1).getProductId());
+        assertEquals(4, products.get(1).getQuantity());
+        assertAmount("40.00", products.get(1).getRevenue());
+
+        List<SalesBreakdownDTO> categories = analyticsService.getSalesByCategory(DAY_2, DAY_2);
+        assertEquals(1, categories.size());
+        assertEquals("BOOKS", categories.get(0).getCategory());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentFirstOrdersOfADayShareTheirRows() {
+        LocalDate day = LocalDate.of(2026, 4, 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> creations = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            creations.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                transactionTemplate.executeWithoutResult(status -> create(day, item(3L, "GAMES", 1, "20.00")));
+            }));
+        }
+        start.countDown();
+        creations.forEach(CompletableFuture::join);
+
+        List<DailySalesDTO> daily = analyticsService.getDailySales(day, day);
+        assertEquals(4, daily.get(0).getOrderCount());
+        assertAmount("80.00", daily.get(0).getRevenue());
+        List<SalesBreakdownDTO> products = analyticsService.getTopProducts(day, day, 10);
+        assertEquals(4, products.get(0).getQuantity());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void oppositeTransitionsOnTheSameDayDoNotDeadlock() {
+        LocalDate day = LocalDate.of(2026, 5, 1);
+        Order first = transactionTemplate.execute(status -> moveTo(create(day, item(4L, "GAMES", 1, "15.00")),
+                OrderStatus.CONFIRMED));
+        Order second = transactionTemplate.execute(status -> moveTo(create(day, item(4L, "GAMES", 1, "15.00")),
+                OrderStatus.SHIPPED));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> flips = new ArrayList<>();
+        for (Order order : List.of(first, second)) {
+            flips.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 50; i++) {
+                    OrderStatus next = order.getStatus() == OrderStatus.CONFIRMED ? OrderStatus.SHIPPED : OrderStatus.CONFIRMED;
+                    transactionTemplate.executeWithoutResult(status -> moveTo(order, next));
+                }
+            }));
+        }
+        start.countDown();
+        flips.forEach(CompletableFuture::join);
+
+        DailySalesDTO daily = analyticsService.getDailySales(day, day).get(0);
+        assertEquals(1, daily.getOrdersByStatus().get(OrderStatus.CONFIRMED));
+        assertEquals(1, daily.getOrdersByStatus().get(OrderStatus.SHIPPED));
+        assertEquals(2, daily.getOrderCount());
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> analyticsService.getDailySales(DAY_2, DAY_1));
+        assertThrows(IllegalArgumentException.class,
+                () -> analyticsService.getDailySales(DAY_1, DAY_1.plusYears(2)));
+    }
+
+    private Order create(LocalDate day, OrderItem... items) {
+        LocalDateTime date = day.atTime(10, 0);
+        Order order = new Order(null, 1L, date, OrderStatus.PENDING, Money.ZERO,
+                "1 rue de la Paix, Paris", date, date);
+        Money total = Money.ZERO;
+        for (OrderItem item : items) {
+            order.addItem(item);
+            total = total.plus(item.getSubtotal());
+        }
+        order.setTotalAmount(total);
+
+        Order saved = orderRepository.save(order);
+        analyticsService.recordNewOrder(saved);
+        return saved;
+    }
+
+    private Order moveTo(Order order, OrderStatus status) {
+        OrderStatus previous = order.getStatus();
+        order.setStatus(status);
+        analyticsService.recordStatusChange(order, previous);
+        return order;
+    }
+
+    private static OrderItem item(Long productId, String category, int quantity, String subtotal) {
+        OrderItem item = new OrderItem();
+        item.setProductId(productId);
+        item.setProductName("Produit " + productId);
+        item.setProductCategory(category);
+        item.setQuantity(quantity);
+        item.setSubtotal(Money.parse(subtotal));
+        item.setUnitPrice(Money.ofMinor(Money.parse(subtotal).minorUnits() / quantity));
+        return item;
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), expected + " != " + actual);
+    }
+}
@@ -0,0 +1,154 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.UserOrderSummaryDTO;
+import com.membership.order.domain.entity.ArchivedOrder;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.repository.ArchivedOrderRepository;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.value.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({UserOrderSummaryService.class, ReadModelRows.class})
+// Pool Hikari de l'application (auto-commit désactivé) : les SELECT ... FOR UPDATE tiennent leur verrou
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "orders.summary.recent-orders=3",
+        "spring.datasource.url=jdbc:h2:mem:summary-test"
+})
+class UserOrderSummaryServiceTest {
+
+    @Autowired
+    UserOrderSummaryService summaryService;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    ArchivedOrderRepository archiveRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    void summaryFollowsCreationsAndStatusChanges() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Order order = orderRepository.save(newOrder(7L, Money.parse("10.00"), LocalDateTime.now().plusMinutes(i)));
+            summaryService.recordNewOrder(order);
+            orders.add(order);
+        }
+
+        Order cancelled = orders.get(0);
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        summaryService.recordStatusChange(cancelled, OrderStatus.PENDING);
+
+        Order shipped = orders.get(1);
+        shipped.setStatus(OrderStatus.SHIPPED);
+        summaryService.recordStatusChange(shipped, OrderStatus.PENDING);
+
+        UserOrderSummaryDTO summary = summaryService.getSummary(7L);
+
+        assertEquals(4, summary.getTotalOrders());
+        assertEquals(2, summary.getOrdersByStatus().get(OrderStatus.PENDING));
+        assertEquals(1, summary.getOrdersByStatus().get(OrderStatus.SHIPPED));
+        assertEquals(1, summary.getOrdersByStatus().get(OrderStatus.CANCELLED));
+        assertEquals(0, new BigDecimal("30.00").compareTo(summary.getLifetimeSpend()));
+        assertEquals(orders.get(3).getOrderDate(), summary.getLastOrderDate());
+        assertEquals(List.of(orders.get(3).getId(), orders.get(2).getId(), orders.get(1).getId()),
+                summary.getRecentOrderIds());
+        assertTrue(summaryService.findSummary(7L).orElseThrow().isComplete());
+    }
+
+    @Test
+    void summaryStartedAfterEarlierOrdersIsNotCompleteUntilRebuilt() {
+        orderRepository.save(newOrder(9L, Money.parse("12.00"), LocalDateTime.now().minusYears(1)));
+        summaryService.recordNewOrder(orderRepository.save(newOrder(9L, Money.parse("8.00"), LocalDateTime.now())));
+
+        assertFalse(summaryService.findSummary(9L).orElseThrow().isComplete());
+
+        summaryService.rebuild(9L);
+
+        assertTrue(summaryService.findSummary(9L).orElseThrow().isComplete());
+    }
+
+    @Test
+    void userWithoutOrdersGetsAnEmptySummary() {
+        UserOrderSummaryDTO summary = summaryService.getSummary(42L);
+
+        assertEquals(0, summary.getTotalOrders());
+        assertEquals(List.of(), summary.getRecentOrderIds());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentFirstOrdersShareOneSummary() {
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> creations = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            creations.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                transactionTemplate.executeWithoutResult(status -> summaryService.recordNewOrder(
+                        orderRepository.save(newOrder(900L, Money.parse("5.00"), LocalDateTime.now()))));
+            }));
+        }
+        start.countDown();
+        creations.forEach(CompletableFuture::join);
+
+        assertEquals(4, summaryService.getSummary(900L).getTotalOrders());
+    }
+
+    @Test
+    void rebuildCountsOrdersRecordedBeforeTheSummary() {
+        LocalDateTime first = LocalDateTime.of(2021, 3, 1, 10, 0);
+        Order archived = newOrder(8L, Money.parse("15.00"), first);
+        archived.setId(990_001L);
+        archived.setStatus(OrderStatus.DELIVERED);
+        archiveRepository.save(new ArchivedOrder(archived, new byte[]{1}, LocalDateTime.now()));
+        Order cancelled = newOrder(8L, Money.parse("20.00"), first.plusYears(1));
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(cancelled);
+        Order pending = orderRepository.save(newOrder(8L, Money.parse("7.50"), first.plusYears(2)));
+
+        summaryService.rebuild(8L);
+        summaryService.rebuild(8L);
+
+        UserOrderSummaryDTO summary = summaryService.getSummary(8L);
+        assertEquals(3, summary.getTotalOrders());
+        assertEquals(1, summary.getOrdersByStatus().get(OrderStatus.DELIVERED));
+        assertEquals(1, summary.getOrdersByStatus().get(OrderStatus.CANCELLED));
+        assertEquals(0, new BigDecimal("22.50").compareTo(summary.getLifetimeSpend()));
+        assertEquals(pending.getOrderDate(), summary.getLastOrderDate());
+        assertEquals(first, summaryService.findSummary(8L).orElseThrow().getFirstOrderDate());
+        assertEquals(List.of(pending.getId(), cancelled.getId(), archived.getId()), summary.getRecentOrderIds());
+    }
+
+    private Order newOrder(Long userId, Money total, LocalDateTime date) {
+        return new Order(null, userId, date, OrderStatus.PENDING, total,
+                "1 rue de la Paix, Paris", date, date);
+    }
+}
@@ -0,0 +1,77 @@
+package com.membership.order.domain.repository;
+
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.value.Money;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Requêtes JDBC préparées par orderRepository.save pour une commande de 40 articles :
+ * batching désactivé (taille de lot 1, une requête par ligne) contre batching configuré
+ * (un INSERT par table, plus les appels de séquence).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderInsertBatchingTest {
+
+    private static final int ITEMS_PER_ORDER = 40;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void batchedInsertsUseFewerStatementsPerOrder() {
+        long unbatched = statementsPerOrder(1);
+        long batched = statementsPerOrder(null);
+
+        // Commande + une requête par article, au moins
+        assertTrue(unbatched >= ITEMS_PER_ORDER + 1, "sans batching : " + unbatched);
+        // Un INSERT orders, un INSERT order_items, au plus deux appels de séquence
+        assertTrue(batched <= 4, "avec batching : " + batched);
+        assertTrue(batched < unbatched);
+    }
+
+    private long statementsPerOrder(Integer jdbcBatchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(jdbcBatchSize);
+
+        Statistics statistics = session.getSessionFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        orderRepository.save(newOrder());
+        entityManager.flush();
+        entityManager.clear();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static Order newOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        Order order = new Order(null, 1L, now, OrderStatus.PENDING,
+                Money.ZERO, "1 rue de la Paix, Paris", now, now);
+
+        Money total = Money.ZERO;
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            Money unitPrice = Money.ofMinor(1999);
+            Money subtotal = unitPrice.times(2);
+            order.addItem(new OrderItem(null, null, (long) i, "Produit " + i,
+                    2, unitPrice, subtotal));
+            total = total.plus(subtotal);
+        }
+        order.setTotalAmount(total);
+        return order;
+    }
+}
@@ -0,0 +1,54 @@
+package com.membership.order.domain.value;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.membership.order.infrastructure.client.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    @Test
+    void decimalsAreRoundedLikeScaleTwoColumns() {
+        // numeric(p, 2) : demi-centime arrondi en s'éloignant de zéro
+        assertEquals(1001, Money.parse("10.005").minorUnits());
+        assertEquals(-1001, Money.parse("-10.005").minorUnits());
+        assertEquals(1000, Money.parse("10.0049").minorUnits());
+        assertEquals(new BigDecimal("19.90"), Money.parse("19.9").toBigDecimal());
+        assertEquals(Money.parse("19.90"), Money.parse("19.9"));
+    }
+
+    @Test
+    void arithmeticStaysExact() {
+        Money unitPrice = Money.parse("19.99");
+        assertEquals(Money.parse("59.97"), unitPrice.times(3));
+        assertEquals(Money.parse("39.98"), unitPrice.plus(unitPrice));
+        assertSame(Money.ZERO, unitPrice.minus(unitPrice));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).times(2));
+        assertThrows(IllegalArgumentException.class,
+                () -> unitPrice.plus(new Money(1, Currency.getInstance("USD"))));
+    }
+
+    @Test
+    void jsonAndCborKeepTheDecimalNumber() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        ProductDTO product = new ProductDTO();
+        product.setPrice(Money.parse("129.9"));
+
+        String body = json.writeValueAsString(product);
+        assertTrue(body.contains("\"price\":129.90"), body);
+        assertEquals(product.getPrice(), json.readValue(body, ProductDTO.class).getPrice());
+        assertEquals(Money.parse("12.00"), json.readValue("{\"price\":12}", ProductDTO.class).getPrice());
+        assertEquals(Money.parse("12.35"), json.readValue("{\"price\":\"12.345\"}", ProductDTO.class).getPrice());
+
+        CBORMapper cbor = new CBORMapper();
+        assertEquals(product.getPrice(), cbor.readValue(cbor.writeValueAsBytes(product), ProductDTO.class).getPrice());
+    }
+}
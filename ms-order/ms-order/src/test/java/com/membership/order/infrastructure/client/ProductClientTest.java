@@ -0,0 +1,132 @@
+package com.membership.order.infrastructure.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.membership.order.domain.value.Money;
+import com.membership.order.infrastructure.client.batch.ClientBatching;
+import com.membership.order.infrastructure.client.channel.StockChannelClient;
+import com.membership.order.infrastructure.client.dto.ProductDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ProductClientTest {
+
+    private static final String PRODUCT_SERVICE_URL = "http://localhost:8082";
+    private static final String PRODUCT_URL = PRODUCT_SERVICE_URL + "/api/v1/products/1";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final ProductClient client = new ProductClient(restTemplate, null, PRODUCT_SERVICE_URL, "cbor",
+            ClientBatching.disabled());
+
+    @Test
+    void productsAreReadAsCbor() throws Exception {
+        ObjectMapper cbor = WireFormatBenchmark.mapper("cbor");
+        ProductDTO product = WireFormatBenchmark.product(1L);
+        byte[] cborBytes = cbor.writeValueAsBytes(product);
+        assertTrue(cborBytes.length < WireFormatBenchmark.mapper("json").writeValueAsBytes(product).length);
+
+        server.expect(requestTo(PRODUCT_URL))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.5"))
+                .andRespond(withSuccess(cborBytes, MediaType.APPLICATION_CBOR));
+
+        ProductDTO received = client.getProduct(1L);
+
+        assertEquals("Casque audio sans fil 1", received.getName());
+        assertEquals(Money.parse("129.99"), received.getPrice());
+        server.verify();
+    }
+
+    @Test
+    void stockUpdateFallsBackToJsonWhenCborIsRejected() {
+        server.expect(requestTo(PRODUCT_URL + "/stock"))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+                .andRespond(withStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+        server.expect(requestTo(PRODUCT_URL + "/stock"))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andRespond(withSuccess());
+        server.expect(requestTo(PRODUCT_URL + "/stock"))
+                .andExpect(method(HttpMethod.PUT))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andRespond(withSuccess());
+
+        client.updateStock(1L, -2);
+        client.updateStock(1L, -1);
+
+        server.verify();
+    }
+
+    @Test
+    void channelRepliesAreMatchedToTheirCallerInAnyOrder() throws Exception {
+        ObjectMapper cbor = WireFormatBenchmark.mapper("cbor");
+        try (ServerSocket fakeProductService = new ServerSocket(0);
+             StockChannelClient channel = new StockChannelClient("localhost", fakeProductService.getLocalPort(),
+                     "", 1, 16, Duration.ofSeconds(5), new SimpleMeterRegistry())) {
+
+            // ms-product simulé : accepte HELLO, attend deux requêtes et répond dans l'ordre inverse
+            CompletableFuture<Void> fake = CompletableFuture.runAsync(() -> {
+                try (Socket socket = fakeProductService.accept()) {
+                    DataInputStream in = new DataInputStream(socket.getInputStream());
+                    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                    reply(out, readFrame(in).getLong(), new byte[0]);
+                    ByteBuffer first = readFrame(in);
+                    ByteBuffer second = readFrame(in);
+                    for (ByteBuffer request : new ByteBuffer[]{second, first}) {
+                        long id = request.getLong();
+                        request.get();
+                        reply(out, id, cbor.writeValueAsBytes(WireFormatBenchmark.product(request.getLong())));
+                    }
+                    in.read();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            ProductClient channelClient = new ProductClient(restTemplate, channel, PRODUCT_SERVICE_URL, "cbor",
+                    ClientBatching.disabled());
+            CompletableFuture<ProductDTO> product1 = CompletableFuture.supplyAsync(() -> channelClient.getProduct(1L));
+            CompletableFuture<ProductDTO> product2 = CompletableFuture.supplyAsync(() -> channelClient.getProduct(2L));
+
+            assertEquals(1L, product1.get().getId());
+            assertEquals(2L, product2.get().getId());
+            channel.close();
+            fake.get();
+        }
+    }
+
+    private static ByteBuffer readFrame(DataInputStream in) throws IOException {
+        byte[] frame = new byte[in.readInt()];
+        in.readFully(frame);
+        return ByteBuffer.wrap(frame);
+    }
+
+    private static void reply(DataOutputStream out, long id, byte[] payload) throws IOException {
+        out.writeInt(9 + payload.length);
+        out.writeLong(id);
+        out.writeByte(0);
+        out.write(payload);
+        out.flush();
+    }
+}
@@ -0,0 +1,170 @@
+package com.membership.order.infrastructure.client;
+
+import com.membership.order.infrastructure.client.batch.ClientBatching;
+import com.membership.order.infrastructure.client.channel.StockChannelClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Charge en boucle ouverte sur ProductClient, transport REST contre canal stock :
+ * les opérations partent à débit fixe quel que soit le temps de réponse, la latence est
+ * mesurée depuis l'instant prévu de départ (l'attente d'un thread libre est comptée).
+ * Mélange : 50 % lecture produit, 50 % réservation / libération d'une unité de stock.
+ *
+ * ms-product lancé avec STOCK_CHANNEL_ENABLED=true et STOCK_CHANNEL_TOKEN=&lt;jeton&gt;, puis :
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      com.membership.order.infrastructure.client.StockTransportLoadGenerator \
+ *      --authorization="Bearer &lt;JWT&gt;" --channel-token=&lt;jeton&gt; --rates=1000,10000,50000 --duration=10 --products=1,2,3
+ */
+public class StockTransportLoadGenerator {
+
+    private static final int WORKERS = 512;
+
+    private final ProductClient client;
+    private final long[] productIds;
+
+    StockTransportLoadGenerator(ProductClient client, long[] productIds) {
+        this.client = client;
+        this.productIds = productIds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        List<String> transports = List.of(options.getOrDefault("transports", "http,channel").split(","));
+        int[] rates = Arrays.stream(options.getOrDefault("rates", "1000,10000,50000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int seconds = Integer.parseInt(options.getOrDefault("duration", "10"));
+        long[] productIds = Arrays.stream(options.getOrDefault("products", "1,2,3").split(","))
+                .mapToLong(Long::parseLong).toArray();
+
+        System.out.printf("%-8s %8s %10s %9s %9s %9s %9s %8s %8s%n",
+                "transport", "cible/s", "obtenu/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "erreurs", "rejets");
+        for (String transport : transports) {
+            StockChannelClient channel = "channel".equals(transport)
+                    ? new StockChannelClient(options.getOrDefault("channel-host", "localhost"),
+                    Integer.parseInt(options.getOrDefault("channel-port", "9082")),
+                    options.getOrDefault("channel-token", ""), 2, 256, Duration.ofSeconds(5),
+                    new SimpleMeterRegistry())
+                    : null;
+            ProductClient client = new ProductClient(restTemplate(options.get("authorization")), channel,
+                    options.getOrDefault("product-url", "http://localhost:8082"),
+                    options.getOrDefault("wire-format", "cbor"), ClientBatching.disabled());
+            StockTransportLoadGenerator generator = new StockTransportLoadGenerator(client, productIds);
+
+            for (int rate : rates) {
+                generator.run(rate, Math.min(2, seconds)); // échauffement, non mesuré
+                Result result = generator.run(rate, seconds);
+                System.out.printf("%-8s %8d %10.0f %9.2f %9.2f %9.2f %9.2f %8d %8d%n",
+                        transport, rate, result.throughput(), result.percentile(50), result.percentile(99),
+                        result.percentile(99.9), result.percentile(100), result.errors(), result.rejected());
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    Result run(int rate, int seconds) throws InterruptedException {
+        int total = rate * seconds;
+        long[] latencies = new long[total];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        long rejected = 0;
+
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WORKERS * 4));
+        workers.prestartAllCoreThreads();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int operation = i;
+            try {
+                workers.execute(() -> {
+                    try {
+                        execute(operation);
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[completed.getAndIncrement()] = System.nanoTime() - intended;
+                });
+            } catch (RejectedExecutionException e) {
+                rejected++;
+            }
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+
+        long[] recorded = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(recorded);
+        return new Result(recorded, completed.get() * 1e9 / elapsed, errors.get(), rejected);
+    }
+
+    // Opérations paires : lecture ; impaires : réservation puis libération (stock inchangé au total)
+    private void execute(int operation) {
+        long productId = productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+        if (operation % 2 == 0) {
+            client.getProduct(productId);
+        } else {
+            client.updateStock(productId, operation % 4 == 1 ? -1 : 1);
+        }
+    }
+
+    // authorization : valeur complète de l'en-tête (Bearer ..., Basic ...) pour le transport REST
+    private static RestTemplate restTemplate(String authorization) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(5000);
+        factory.setReadTimeout(5000);
+        RestTemplate restTemplate = new RestTemplate(factory);
+        if (authorization != null) {
+            restTemplate.getInterceptors().add((request, body, execution) -> {
+                request.getHeaders().set(HttpHeaders.AUTHORIZATION, authorization);
+                return execution.execute(request, body);
+            });
+        }
+        return restTemplate;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        return options;
+    }
+
+    record Result(long[] sortedLatencies, double throughput, long errors, long rejected) {
+
+        double percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.membership.order.infrastructure.client;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.membership.order.domain.value.Money;
+import com.membership.order.infrastructure.client.dto.ProductDTO;
+import com.membership.order.infrastructure.client.dto.StockUpdateDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodage / décodage des échanges ms-order / ms-product : JSON contre CBOR,
+ * avec les ObjectMapper des convertisseurs RestTemplate.
+ *
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      com.membership.order.infrastructure.client.WireFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    String format;
+
+    private ObjectMapper objectMapper;
+    private JavaType productListType;
+
+    private ProductDTO product;
+    private List<ProductDTO> products;
+    private StockUpdateDTO stockUpdate;
+
+    private byte[] productBytes;
+    private byte[] productListBytes;
+    private byte[] stockUpdateBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = mapper(format);
+        productListType = objectMapper.getTypeFactory().constructCollectionType(List.class, ProductDTO.class);
+
+        product = product(1L);
+        products = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            products.add(product(id));
+        }
+        stockUpdate = new StockUpdateDTO(-2);
+
+        productBytes = objectMapper.writeValueAsBytes(product);
+        productListBytes = objectMapper.writeValueAsBytes(products);
+        stockUpdateBytes = objectMapper.writeValueAsBytes(stockUpdate);
+    }
+
+    @Benchmark
+    public byte[] encodeProduct() throws Exception {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public ProductDTO decodeProduct() throws Exception {
+        return objectMapper.readValue(productBytes, ProductDTO.class);
+    }
+
+    @Benchmark
+    public byte[] encodeProductList() throws Exception {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<ProductDTO> decodeProductList() throws Exception {
+        return objectMapper.readValue(productListBytes, productListType);
+    }
+
+    @Benchmark
+    public byte[] encodeStockUpdate() throws Exception {
+        return objectMapper.writeValueAsBytes(stockUpdate);
+    }
+
+    @Benchmark
+    public StockUpdateDTO decodeStockUpdate() throws Exception {
+        return objectMapper.readValue(stockUpdateBytes, StockUpdateDTO.class);
+    }
+
+    static ObjectMapper mapper(String format) {
+        return "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static ProductDTO product(long id) {
+        ProductDTO product = new ProductDTO();
+        product.setId(id);
+        product.setName("Casque audio sans fil " + id);
+        product.setPrice(Money.parse("129.99"));
+        product.setStock(42);
+        product.setCategory("ELECTRONICS");
+        return product;
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String format : List.of("json", "cbor")) {
+            WireFormatBenchmark sizes = new WireFormatBenchmark();
+            sizes.format = format;
+            sizes.setUp();
+            System.out.printf("%s : produit %d o, liste de 100 produits %d o, stock %d o%n", format,
+                    sizes.productBytes.length, sizes.productListBytes.length, sizes.stockUpdateBytes.length);
+        }
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
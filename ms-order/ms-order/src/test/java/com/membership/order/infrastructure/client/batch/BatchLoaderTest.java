@@ -0,0 +1,90 @@
+package com.membership.order.infrastructure.client.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchLoaderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<Long>> calls = new CopyOnWriteArrayList<>();
+
+    @Test
+    void concurrentLoadsShareOneBulkCall() throws Exception {
+        BatchLoader<Long, String> loader = loader(Duration.ofMillis(200), 100, evenIdsOnly());
+
+        List<CompletableFuture<String>> results = loadConcurrently(loader, List.of(1L, 2L, 2L, 4L, 4L, 4L));
+
+        assertEquals(1, calls.size());
+        assertEquals(List.of(1L, 2L, 4L), calls.get(0).stream().sorted().toList());
+        assertNull(results.get(0).join());
+        assertEquals("v2", results.get(1).join());
+        assertEquals("v4", results.get(5).join());
+        assertEquals(3, registry.get("clients.batch.size").tag("loader", "test").summary().max());
+    }
+
+    @Test
+    void fullBatchLeavesBeforeTheWindow() throws Exception {
+        BatchLoader<Long, String> loader = loader(Duration.ofSeconds(30), 2, evenIdsOnly());
+
+        List<CompletableFuture<String>> results = loadConcurrently(loader, List.of(2L, 4L));
+
+        assertEquals("v4", results.get(1).join());
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void bulkFailureReachesEveryCaller() {
+        BatchLoader<Long, String> loader = loader(Duration.ofMillis(1), 100, ids -> {
+            throw new IllegalStateException("indisponible");
+        });
+
+        assertThrows(IllegalStateException.class, () -> loader.load(1L));
+    }
+
+    private BatchLoader<Long, String> loader(Duration window, int maxBatchSize,
+                                             Function<List<Long>, Map<Long, String>> bulkFetch) {
+        return new ClientBatching(true, window, maxBatchSize, registry).loader("test", ids -> {
+            calls.add(ids);
+            return bulkFetch.apply(ids);
+        });
+    }
+
+    private static Function<List<Long>, Map<Long, String>> evenIdsOnly() {
+        return ids -> ids.stream().filter(id -> id % 2 == 0).collect(Collectors.toMap(id -> id, id -> "v" + id));
+    }
+
+    private static List<CompletableFuture<String>> loadConcurrently(BatchLoader<Long, String> loader, List<Long> ids)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(ids.size());
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (Long id : ids) {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            results.add(result);
+            Thread.ofVirtual().start(() -> {
+                started.countDown();
+                try {
+                    result.complete(loader.load(id));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+        started.await();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        return results;
+    }
+}
@@ -0,0 +1,293 @@
+package com.membership.order.infrastructure.client.stub;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Bouchon HTTP/1.1 de ms-membership et ms-product pour tester ms-order seul sur une machine :
+ * GET /api/v1/users/{id}, GET /api/v1/products/{id}, leurs lots /batch?ids=, PUT /api/v1/products/{id}/stock
+ * et /actuator/health, sur un seul port (clients.membership.url et clients.product.url vers url()).
+ * Chaque API suit son FaultProfile, modifiable pendant le tir pour rejouer un incident.
+ * Serveur sur socket brute (un thread virtuel par connexion, keep-alive) : seule façon
+ * d'émettre un vrai RST et de maîtriser l'envoi du corps octet par octet.
+ *
+ * Autonome, pour un ms-order lancé à part (PRODUCT_SERVICE_URL=MEMBERSHIP_SERVICE_URL=http://localhost:18090) :
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      com.membership.order.infrastructure.client.stub.DependencyStubServer \
+ *      --port=18090 --product-latency=lognormal:20:250 --product-errors=0.01 --membership-resets=0.001
+ */
+public class DependencyStubServer implements AutoCloseable {
+
+    private static final Pattern USER = Pattern.compile("/api/v1/users/(\\d+)");
+    private static final Pattern PRODUCT = Pattern.compile("/api/v1/products/(\\d+)");
+    private static final Pattern STOCK = Pattern.compile("/api/v1/products/(\\d+)/stock");
+    private static final Pattern IDS = Pattern.compile("(?:^|&)ids=([\\d,]*)");
+
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+
+    private volatile FaultProfile membership = FaultProfile.healthy();
+    private volatile FaultProfile product = FaultProfile.healthy();
+
+    private final AtomicLong membershipRequests = new AtomicLong();
+    private final AtomicLong productRequests = new AtomicLong();
+
+    private DependencyStubServer(int port) throws IOException {
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        this.acceptor = Thread.ofVirtual().name("dependency-stub-acceptor").start(this::accept);
+    }
+
+    /** Démarre le bouchon ; port 0 pour un port libre. */
+    public static DependencyStubServer start(int port) throws IOException {
+        return new DependencyStubServer(port);
+    }
+
+    public String url() {
+        return "http://localhost:" + serverSocket.getLocalPort();
+    }
+
+    public DependencyStubServer membership(FaultProfile profile) {
+        this.membership = profile;
+        return this;
+    }
+
+    public DependencyStubServer product(FaultProfile profile) {
+        this.product = profile;
+        return this;
+    }
+
+    public long membershipRequests() {
+        return membershipRequests.get();
+    }
+
+    public long productRequests() {
+        return productRequests.get();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                // serveur fermé
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            while (true) {
+                String requestLine = readLine(in);
+                if (requestLine == null || requestLine.isEmpty()) {
+                    return;
+                }
+                Map<String, String> headers = readHeaders(in);
+                skipBody(in, headers);
+
+                String[] parts = requestLine.split(" ");
+                if (parts.length < 3) {
+                    return;
+                }
+                String[] target = parts[1].split("\\?", 2);
+                boolean open = respond(socket, out, parts[0], target[0], target.length > 1 ? target[1] : "");
+                if (!open || "close".equalsIgnoreCase(headers.get("connection"))) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // client parti
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // false si la connexion a été réinitialisée
+    private boolean respond(Socket socket, OutputStream out, String method, String path, String query)
+            throws IOException, InterruptedException {
+        if (path.equals("/actuator/health")) {
+            write(out, 200, "{\"status\":\"UP\"}", null);
+            return true;
+        }
+        if ("GET".equals(method) && path.equals("/api/v1/products/batch")) {
+            productRequests.incrementAndGet();
+            return withFaults(socket, out, this.product, 200, batchJson(query, DependencyStubServer::productJson));
+        }
+        if ("GET".equals(method) && path.equals("/api/v1/users/batch")) {
+            membershipRequests.incrementAndGet();
+            return withFaults(socket, out, membership, 200, batchJson(query, DependencyStubServer::userJson));
+        }
+
+        Matcher stock = STOCK.matcher(path);
+        Matcher product = PRODUCT.matcher(path);
+        Matcher user = USER.matcher(path);
+        if ("PUT".equals(method) && stock.matches()) {
+            productRequests.incrementAndGet();
+            return withFaults(socket, out, this.product, 204, null);
+        }
+        if ("GET".equals(method) && product.matches()) {
+            productRequests.incrementAndGet();
+            return withFaults(socket, out, this.product, 200, productJson(Long.parseLong(product.group(1))));
+        }
+        if ("GET".equals(method) && user.matches()) {
+            membershipRequests.incrementAndGet();
+            return withFaults(socket, out, membership, 200, userJson(Long.parseLong(user.group(1))));
+        }
+        write(out, 404, "{\"error\":\"Not Found\"}", null);
+        return true;
+    }
+
+    private boolean withFaults(Socket socket, OutputStream out, FaultProfile profile, int status, String body)
+            throws IOException, InterruptedException {
+        long latency = profile.latency().nextNanos();
+        if (latency > 0) {
+            Thread.sleep(latency / 1_000_000, (int) (latency % 1_000_000));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < profile.resetRate()) {
+            // SO_LINGER à 0 : la fermeture émet un RST au lieu d'un FIN
+            socket.setSoLinger(true, 0);
+            socket.close();
+            return false;
+        }
+        if (random.nextDouble() < profile.errorRate()) {
+            write(out, 503, "{\"error\":\"Service Unavailable\",\"message\":\"Erreur injectée\"}", null);
+            return true;
+        }
+        write(out, status, body, random.nextDouble() < profile.slowBodyRate() ? profile : null);
+        return true;
+    }
+
+    private static void write(OutputStream out, int status, String body, FaultProfile slowBody)
+            throws IOException, InterruptedException {
+        byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(' ').append(reason(status)).append("\r\n");
+        if (bytes.length > 0) {
+            head.append("Content-Type: application/json\r\n");
+        }
+        head.append("Content-Length: ").append(bytes.length).append("\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (slowBody == null) {
+            out.write(bytes);
+            out.flush();
+            return;
+        }
+        out.flush();
+        for (int offset = 0; offset < bytes.length; offset += FaultProfile.SLOW_BODY_CHUNK) {
+            Thread.sleep(slowBody.slowBodyChunkDelay());
+            out.write(bytes, offset, Math.min(FaultProfile.SLOW_BODY_CHUNK, bytes.length - offset));
+            out.flush();
+        }
+    }
+
+    private static String reason(int status) {
+        return switch (status) {
+            case 200 -> "OK";
+            case 204 -> "No Content";
+            case 404 -> "Not Found";
+            default -> "Service Unavailable";
+        };
+    }
+
+    private static String productJson(long id) {
+        return "{\"id\":" + id + ",\"name\":\"Produit " + id + "\",\"price\":19.90,"
+                + "\"stock\":1000000000,\"category\":\"ELECTRONICS\"}";
+    }
+
+    private static String batchJson(String query, LongFunction<String> json) {
+        Matcher ids = IDS.matcher(query);
+        if (!ids.find() || ids.group(1).isEmpty()) {
+            return "[]";
+        }
+        return Arrays.stream(ids.group(1).split(","))
+                .map(id -> json.apply(Long.parseLong(id)))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String userJson(long id) {
+        return "{\"id\":" + id + ",\"firstName\":\"Jean\",\"lastName\":\"Dupont\","
+                + "\"email\":\"user" + id + "@example.com\",\"active\":true}";
+    }
+
+    private static Map<String, String> readHeaders(InputStream in) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        return headers;
+    }
+
+    // Corps ignoré : longueur annoncée ou découpage chunked (PUT de stock de RestTemplate)
+    private static void skipBody(InputStream in, Map<String, String> headers) throws IOException {
+        if (!"chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+            in.readNBytes(Integer.parseInt(headers.getOrDefault("content-length", "0")));
+            return;
+        }
+        int size;
+        do {
+            String line = readLine(in);
+            if (line == null) {
+                return;
+            }
+            size = Integer.parseInt(line.replaceFirst(";.*$", "").trim(), 16);
+            in.readNBytes(size);
+            readLine(in);
+        } while (size > 0);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                return line.toString(StandardCharsets.ISO_8859_1).stripTrailing();
+            }
+            line.write(b);
+        }
+        return line.size() == 0 ? null : line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        acceptor.interrupt();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        DependencyStubServer server = start(Integer.parseInt(options.getOrDefault("port", "18090")))
+                .membership(FaultProfile.fromOptions(options, "membership-"))
+                .product(FaultProfile.fromOptions(options, "product-"));
+        System.out.println("Bouchon ms-membership / ms-product sur " + server.url());
+        server.acceptor.join();
+    }
+}
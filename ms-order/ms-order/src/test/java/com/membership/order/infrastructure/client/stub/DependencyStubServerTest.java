@@ -0,0 +1,101 @@
+package com.membership.order.infrastructure.client.stub;
+
+import com.membership.order.infrastructure.client.ProductClient;
+import com.membership.order.infrastructure.client.UserClient;
+import com.membership.order.infrastructure.client.batch.ClientBatching;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DependencyStubServerTest {
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private DependencyStubServer stub;
+    private ProductClient productClient;
+    private UserClient userClient;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = DependencyStubServer.start(0);
+        productClient = new ProductClient(restTemplate, null, stub.url(), "json", ClientBatching.disabled());
+        userClient = new UserClient(restTemplate, stub.url(), Duration.ofMinutes(5), ClientBatching.disabled());
+    }
+
+    @AfterEach
+    void stopStub() throws IOException {
+        stub.close();
+    }
+
+    @Test
+    void clientsCallTheConfiguredUrls() {
+        assertEquals(7L, productClient.getProduct(7L).getId());
+        productClient.updateStock(7L, -1);
+        assertTrue(userClient.userExists(1L));
+
+        assertEquals(2, stub.productRequests());
+        assertEquals(1, stub.membershipRequests());
+    }
+
+    @Test
+    void batchedClientsReadTheBulkEndpoints() {
+        ClientBatching batching = new ClientBatching(true, Duration.ofMillis(1), 100, new SimpleMeterRegistry());
+        ProductClient batchedProducts = new ProductClient(restTemplate, null, stub.url(), "json", batching);
+        UserClient batchedUsers = new UserClient(restTemplate, stub.url(), Duration.ofMinutes(5), batching);
+
+        assertEquals(7L, batchedProducts.getProduct(7L).getId());
+        assertTrue(batchedUsers.userExists(1L));
+
+        assertEquals(1, stub.productRequests());
+        assertEquals(1, stub.membershipRequests());
+    }
+
+    @Test
+    void injectedErrorsAndResetsReachTheClients() {
+        stub.membership(FaultProfile.healthy().withErrorRate(1));
+        stub.product(FaultProfile.healthy().withResetRate(1));
+
+        assertFalse(userClient.userExists(1L));
+        assertThrows(ResourceAccessException.class, () -> productClient.getProduct(1L));
+    }
+
+    @Test
+    void latencyAndSlowBodyDelayTheResponse() {
+        stub.product(FaultProfile.healthy().withLatency(LatencyDistribution.fixed(100)));
+        long start = System.nanoTime();
+        productClient.getProduct(1L);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 100);
+
+        // Corps d'environ 90 octets : au moins 5 morceaux espacés de 30 ms
+        stub.product(FaultProfile.healthy().withSlowBody(1, Duration.ofMillis(30)));
+        start = System.nanoTime();
+        assertEquals(2L, productClient.getProduct(2L).getId());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 150);
+    }
+
+    @Test
+    void logNormalLatencyMatchesItsMedian() {
+        LatencyDistribution latency = LatencyDistribution.parse("lognormal:20:250");
+        long[] samples = new long[20_001];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = latency.nextNanos();
+        }
+        Arrays.sort(samples);
+        double medianMillis = samples[samples.length / 2] / 1e6;
+        double p99Millis = samples[(int) (samples.length * 0.99)] / 1e6;
+
+        assertTrue(medianMillis > 18 && medianMillis < 22, "médiane " + medianMillis);
+        assertTrue(p99Millis > 200 && p99Millis < 310, "p99 " + p99Millis);
+    }
+}
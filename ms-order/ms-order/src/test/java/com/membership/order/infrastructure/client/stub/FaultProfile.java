@@ -0,0 +1,57 @@
+package com.membership.order.infrastructure.client.stub;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Comportement d'une API bouchonnée : latence avant réponse, puis, selon leur probabilité,
+ * réponse 503, connexion réinitialisée (RST, sans réponse) ou corps envoyé lentement
+ * (morceaux de SLOW_BODY_CHUNK octets espacés de slowBodyChunkDelay).
+ */
+public record FaultProfile(LatencyDistribution latency,
+                           double errorRate,
+                           double resetRate,
+                           double slowBodyRate,
+                           Duration slowBodyChunkDelay) {
+
+    public static final int SLOW_BODY_CHUNK = 16;
+
+    public static FaultProfile healthy() {
+        return new FaultProfile(LatencyDistribution.none(), 0, 0, 0, Duration.ZERO);
+    }
+
+    public FaultProfile withLatency(LatencyDistribution latency) {
+        return new FaultProfile(latency, errorRate, resetRate, slowBodyRate, slowBodyChunkDelay);
+    }
+
+    public FaultProfile withErrorRate(double errorRate) {
+        return new FaultProfile(latency, errorRate, resetRate, slowBodyRate, slowBodyChunkDelay);
+    }
+
+    public FaultProfile withResetRate(double resetRate) {
+        return new FaultProfile(latency, errorRate, resetRate, slowBodyRate, slowBodyChunkDelay);
+    }
+
+    public FaultProfile withSlowBody(double slowBodyRate, Duration chunkDelay) {
+        return new FaultProfile(latency, errorRate, resetRate, slowBodyRate, chunkDelay);
+    }
+
+    /**
+     * Profil lu depuis les options de ligne de commande préfixées, par exemple pour "product-" :
+     * --product-latency=lognormal:20:250 --product-errors=0.01 --product-resets=0.001
+     * --product-slow-body=0.05:100 (proportion, délai entre morceaux en millisecondes).
+     */
+    public static FaultProfile fromOptions(Map<String, String> options, String prefix) {
+        FaultProfile profile = healthy()
+                .withLatency(LatencyDistribution.parse(options.getOrDefault(prefix + "latency", "none")))
+                .withErrorRate(Double.parseDouble(options.getOrDefault(prefix + "errors", "0")))
+                .withResetRate(Double.parseDouble(options.getOrDefault(prefix + "resets", "0")));
+        String slowBody = options.get(prefix + "slow-body");
+        if (slowBody != null) {
+            String[] parts = slowBody.split(":", 2);
+            profile = profile.withSlowBody(Double.parseDouble(parts[0]),
+                    Duration.ofMillis(parts.length > 1 ? Long.parseLong(parts[1]) : 100));
+        }
+        return profile;
+    }
+}
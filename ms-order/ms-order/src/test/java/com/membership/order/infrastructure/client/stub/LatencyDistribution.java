@@ -0,0 +1,54 @@
+package com.membership.order.infrastructure.client.stub;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temps de réponse injecté par le bouchon, tiré à chaque requête.
+ * Forme textuelle (ligne de commande) : fixed:50, uniform:10:200, lognormal:20:250
+ * (médiane et p99 en millisecondes), ou simplement 50.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    // Quantile 0,99 de la loi normale centrée réduite
+    double Z_99 = 2.326348;
+
+    long nextNanos();
+
+    static LatencyDistribution none() {
+        return () -> 0;
+    }
+
+    static LatencyDistribution fixed(long millis) {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        return () -> nanos;
+    }
+
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        long min = TimeUnit.MILLISECONDS.toNanos(minMillis);
+        long max = TimeUnit.MILLISECONDS.toNanos(maxMillis);
+        return () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+    }
+
+    /** Loi log-normale de médiane et p99 donnés : queue longue, proche des latences réseau observées. */
+    static LatencyDistribution logNormal(double medianMillis, double p99Millis) {
+        if (p99Millis < medianMillis) {
+            throw new IllegalArgumentException("p99 inférieur à la médiane : " + p99Millis + " < " + medianMillis);
+        }
+        double mu = Math.log(medianMillis);
+        double sigma = (Math.log(p99Millis) - mu) / Z_99;
+        return () -> (long) (Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()) * 1_000_000);
+    }
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        return switch (parts[0]) {
+            case "none" -> none();
+            case "fixed" -> fixed(Long.parseLong(parts[1]));
+            case "uniform" -> uniform(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            case "lognormal" -> logNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+            default -> fixed(Long.parseLong(parts[0]));
+        };
+    }
+}
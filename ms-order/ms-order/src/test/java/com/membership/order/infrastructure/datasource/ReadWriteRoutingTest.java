@@ -0,0 +1,95 @@
+package com.membership.order.infrastructure.datasource;
+
+import com.membership.order.application.service.OrderService;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OrderStatus;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.value.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Écritures sur le primaire, lectures readOnly sur le réplica une fois resynchronisé,
+ * repli sur le primaire quand le réplica est retiré de la rotation.
+ * Les tâches planifiées sont espacées d'une heure : la réplication est déclenchée à la main.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderdb-routing",
+        "datasource.routing.enabled=true",
+        "datasource.routing.replicas[0].url=jdbc:h2:mem:orderdb-routing-replica",
+        "datasource.routing.lag-check-interval=1h",
+        "datasource.routing.replication-stand-in.enabled=true",
+        "datasource.routing.replication-stand-in.interval=1h"
+})
+class ReadWriteRoutingTest {
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ReplicaRoutingDataSource routing;
+
+    @Autowired
+    H2ReplicationStandIn replicationStandIn;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void readOnlyTransactionsAreRoutedToTheReplica() {
+        long primaryBefore = connections("primary");
+        orderRepository.save(newOrder());
+        assertTrue(connections("primary") > primaryBefore);
+
+        replicationStandIn.replicate();
+        assertTrue(routing.getReplicas().get(0).isAvailable());
+
+        long replicaBefore = connections("replica-1");
+        long replicaQueriesBefore = queries("replica-1");
+        primaryBefore = connections("primary");
+        long primaryQueriesBefore = queries("primary");
+        assertEquals(1, orderService.getOrdersByStatus(OrderStatus.PENDING).size());
+        assertEquals(replicaBefore + 1, connections("replica-1"));
+        assertTrue(queries("replica-1") > replicaQueriesBefore);
+        assertEquals(primaryBefore, connections("primary"));
+        assertEquals(primaryQueriesBefore, queries("primary"));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaIsUnavailable() {
+        routing.getReplicas().get(0).markUnavailable();
+        double fallbacksBefore = meterRegistry.get("datasource.routing.fallback")
+                .tag("reason", "unavailable").counter().count();
+        long replicaBefore = connections("replica-1");
+
+        orderService.getAllOrders();
+
+        assertEquals(replicaBefore, connections("replica-1"));
+        assertEquals(fallbacksBefore + 1, meterRegistry.get("datasource.routing.fallback")
+                .tag("reason", "unavailable").counter().count());
+    }
+
+    private long connections(String route) {
+        return meterRegistry.get("datasource.routing.connections").tag("route", route).timer().count();
+    }
+
+    private long queries(String route) {
+        return meterRegistry.get("datasource.routing.queries").tag("route", route).timer().count();
+    }
+
+    private Order newOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        return new Order(null, 1L, now, OrderStatus.PENDING, Money.parse("10.00"),
+                "1 rue de la Paix, Paris", now, now);
+    }
+}
@@ -0,0 +1,62 @@
+package com.membership.order.infrastructure.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MonthlyPartitionsTest {
+
+    @Test
+    void monthPartitionCoversHalfOpenRangeForBothTables() {
+        assertEquals(List.of(
+                "CREATE TABLE IF NOT EXISTS orders_p202412 PARTITION OF orders "
+                        + "FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')",
+                "CREATE TABLE IF NOT EXISTS order_items_p202412 PARTITION OF order_items "
+                        + "FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')"),
+                MonthlyPartitions.create(YearMonth.of(2024, 12)));
+    }
+
+    @Test
+    void rowsAlreadyInTheDefaultPartitionMoveToTheNewMonth() {
+        String range = "order_date >= '2031-05-01' AND order_date < '2031-06-01'";
+        List<String> statements = MonthlyPartitions.createFromDefault(YearMonth.of(2031, 5));
+
+        assertEquals(List.of(
+                "ALTER TABLE orders DETACH PARTITION orders_default",
+                "CREATE TABLE IF NOT EXISTS orders_p203105 PARTITION OF orders "
+                        + "FOR VALUES FROM ('2031-05-01') TO ('2031-06-01')",
+                "INSERT INTO orders_p203105 SELECT * FROM orders_default WHERE " + range,
+                "DELETE FROM orders_default WHERE " + range,
+                "ALTER TABLE orders ATTACH PARTITION orders_default DEFAULT"),
+                statements.subList(0, 5));
+        assertEquals("ALTER TABLE order_items DETACH PARTITION order_items_default", statements.get(5));
+        assertEquals(10, statements.size());
+    }
+
+    @Test
+    void detachedPartitionsAreDroppedOnlyOnRequest() {
+        YearMonth month = YearMonth.of(2023, 2);
+        assertEquals(List.of(
+                "ALTER TABLE orders DETACH PARTITION orders_p202302",
+                "ALTER TABLE order_items DETACH PARTITION order_items_p202302"),
+                MonthlyPartitions.detach(month, false));
+        assertEquals(List.of(
+                "ALTER TABLE orders DETACH PARTITION orders_p202302",
+                "DROP TABLE orders_p202302",
+                "ALTER TABLE order_items DETACH PARTITION order_items_p202302",
+                "DROP TABLE order_items_p202302"),
+                MonthlyPartitions.detach(month, true));
+    }
+
+    @Test
+    void onlyMonthlyPartitionNamesAreParsed() {
+        assertEquals(Optional.of(YearMonth.of(2025, 7)), MonthlyPartitions.month("orders", "orders_p202507"));
+        assertEquals(Optional.empty(), MonthlyPartitions.month("orders", "orders_default"));
+        assertEquals(Optional.empty(), MonthlyPartitions.month("orders", "order_items_p202507"));
+        assertEquals(Optional.empty(), MonthlyPartitions.month("orders", "orders_p202513"));
+    }
+}
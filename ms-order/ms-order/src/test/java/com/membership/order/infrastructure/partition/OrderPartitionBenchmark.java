@@ -0,0 +1,225 @@
+package com.membership.order.infrastructure.partition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Table orders / order_items unique contre partitions mensuelles, sur plusieurs années de
+ * commandes synthétiques (schémas bench_heap et bench_part, recréés à chaque exécution) :
+ * agrégat sur un mois, commandes d'un utilisateur sur une période, suppression du mois le
+ * plus ancien (DELETE contre DETACH + DROP). Le plan indique les partitions lues.
+ *
+ * Base PostgreSQL locale (11 ou plus) requise, puis :
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      com.membership.order.infrastructure.partition.OrderPartitionBenchmark \
+ *      --url=jdbc:postgresql://localhost:5432/orders --user=orders --password=orders \
+ *      --years=3 --orders-per-day=2000 --users=100000 --runs=7
+ */
+public class OrderPartitionBenchmark {
+
+    private static final String HEAP = "bench_heap";
+    private static final String PART = "bench_part";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int years = Integer.parseInt(options.getOrDefault("years", "3"));
+        int ordersPerDay = Integer.parseInt(options.getOrDefault("orders-per-day", "2000"));
+        int users = Integer.parseInt(options.getOrDefault("users", "100000"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "7"));
+
+        YearMonth first = YearMonth.now().minusYears(years);
+        YearMonth last = YearMonth.now();
+        LocalDate start = first.atDay(1);
+        long days = last.atEndOfMonth().toEpochDay() - start.toEpochDay() + 1;
+        long total = days * ordersPerDay;
+        long months = first.until(last, ChronoUnit.MONTHS) + 1;
+
+        try (Connection connection = DriverManager.getConnection(
+                options.getOrDefault("url", "jdbc:postgresql://localhost:5432/orders"),
+                options.getOrDefault("user", "orders"),
+                options.getOrDefault("password", "orders"))) {
+            Statement statement = connection.createStatement();
+
+            long loadStart = System.nanoTime();
+            createHeap(statement);
+            createPartitioned(statement, first, last);
+            load(statement, start, ordersPerDay, total, users);
+            statement.execute("ANALYZE " + HEAP + ".orders, " + HEAP + ".order_items, "
+                    + PART + ".orders, " + PART + ".order_items");
+            System.out.printf("%d commandes sur %d mois (une partition par mois) chargées en %d s%n",
+                    total, months, (System.nanoTime() - loadStart) / 1_000_000_000);
+
+            YearMonth month = first.plusMonths(months / 2);
+            Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+            Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+            Timestamp userFrom = Timestamp.valueOf(month.minusMonths(2).atDay(1).atStartOfDay());
+            long userId = 1 + users / 2;
+
+            String range = "SELECT count(*), sum(total_amount) FROM %s.orders "
+                    + "WHERE order_date >= ? AND order_date < ?";
+            String byUser = "SELECT o.id, o.total_amount, i.product_id FROM %1$s.orders o "
+                    + "JOIN %1$s.order_items i ON i.order_id = o.id AND i.order_date = o.order_date "
+                    + "WHERE o.user_id = ? AND o.order_date BETWEEN ? AND ?";
+
+            System.out.printf("%n%-28s %12s %12s %22s%n", "requête", "table µs", "partitions µs", "partitions lues");
+            for (String schema : new String[]{HEAP, PART}) {
+                // Préchauffage : plans et pages en cache
+                time(connection, range.formatted(schema), 3, from, to);
+            }
+            report(connection, "agrégat sur un mois", range, runs, from, to);
+            report(connection, "utilisateur sur 3 mois", byUser, runs, userId, userFrom, to);
+
+            Timestamp cutoff = Timestamp.valueOf(first.plusMonths(1).atDay(1).atStartOfDay());
+            long deleteStart = System.nanoTime();
+            try (PreparedStatement items = connection.prepareStatement(
+                    "DELETE FROM " + HEAP + ".order_items WHERE order_date < ?");
+                 PreparedStatement orders = connection.prepareStatement(
+                         "DELETE FROM " + HEAP + ".orders WHERE order_date < ?")) {
+                items.setTimestamp(1, cutoff);
+                orders.setTimestamp(1, cutoff);
+                items.executeUpdate();
+                orders.executeUpdate();
+            }
+            long deleteMicros = (System.nanoTime() - deleteStart) / 1_000;
+
+            statement.execute("SET search_path TO " + PART);
+            long detachStart = System.nanoTime();
+            for (String sql : MonthlyPartitions.detach(first, true)) {
+                statement.execute(sql);
+            }
+            long detachMicros = (System.nanoTime() - detachStart) / 1_000;
+            statement.execute("RESET search_path");
+            System.out.printf("%-28s %12d %12d%n", "rétention du mois " + first, deleteMicros, detachMicros);
+        }
+    }
+
+    private static void createHeap(Statement statement) throws SQLException {
+        statement.execute("DROP SCHEMA IF EXISTS " + HEAP + " CASCADE");
+        statement.execute("CREATE SCHEMA " + HEAP);
+        statement.execute("CREATE TABLE " + HEAP + ".orders (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, "
+                + "order_date TIMESTAMP(6) NOT NULL, status VARCHAR(20) NOT NULL, total_amount NUMERIC(12, 2) NOT NULL, "
+                + "shipping_address VARCHAR(255) NOT NULL, created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6))");
+        statement.execute("CREATE TABLE " + HEAP + ".order_items (id BIGINT PRIMARY KEY, order_id BIGINT NOT NULL, "
+                + "order_date TIMESTAMP(6) NOT NULL, product_id BIGINT NOT NULL, product_name VARCHAR(150) NOT NULL, "
+                + "product_category VARCHAR(50), quantity INTEGER NOT NULL, unit_price NUMERIC(10, 2) NOT NULL, "
+                + "subtotal NUMERIC(12, 2) NOT NULL)");
+        statement.execute("CREATE INDEX ON " + HEAP + ".orders (user_id, order_date)");
+        statement.execute("CREATE INDEX ON " + HEAP + ".orders (order_date)");
+        statement.execute("CREATE INDEX ON " + HEAP + ".order_items (order_id, order_date)");
+        statement.execute("CREATE INDEX ON " + HEAP + ".order_items (order_date)");
+    }
+
+    // Schéma du profil postgres, partitions créées comme par OrderPartitionManager
+    private static void createPartitioned(Statement statement, YearMonth first, YearMonth last)
+            throws SQLException, IOException {
+        statement.execute("DROP SCHEMA IF EXISTS " + PART + " CASCADE");
+        statement.execute("CREATE SCHEMA " + PART);
+        statement.execute("SET search_path TO " + PART);
+        try (InputStream in = OrderPartitionBenchmark.class.getResourceAsStream("/db/postgres/schema.sql")) {
+            String schema = Arrays.stream(new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n"))
+                    .filter(line -> !line.startsWith("--"))
+                    .collect(Collectors.joining("\n"));
+            for (String sql : schema.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            for (String sql : MonthlyPartitions.create(month)) {
+                statement.execute(sql);
+            }
+        }
+        statement.execute("RESET search_path");
+    }
+
+    private static void load(Statement statement, LocalDate start, int ordersPerDay, long total, int users)
+            throws SQLException {
+        statement.execute(("INSERT INTO %s.orders SELECT g, 1 + (g * 7919) %% %d, "
+                + "timestamp '%s' + (g / %d) * interval '1 day' + (g %% %d) * (interval '86400 seconds' / %d), "
+                + "(ARRAY['PENDING','CONFIRMED','SHIPPED','DELIVERED','CANCELLED'])[1 + g %% 5], "
+                + "round((10 + g %% 500 + (g %% 100) / 100.0)::numeric, 2), '1 rue de la Paix, Paris', "
+                + "timestamp '%s' + (g / %d) * interval '1 day', NULL "
+                + "FROM generate_series(0, %d) g")
+                .formatted(HEAP, users, start, ordersPerDay, ordersPerDay, ordersPerDay, start, ordersPerDay, total - 1));
+        statement.execute(("INSERT INTO %s.order_items SELECT id, id, order_date, 1 + id %% 1000, 'Produit', 'HOME', "
+                + "1, total_amount, total_amount FROM %s.orders").formatted(HEAP, HEAP));
+        statement.execute("INSERT INTO " + PART + ".orders SELECT * FROM " + HEAP + ".orders");
+        statement.execute("INSERT INTO " + PART + ".order_items SELECT * FROM " + HEAP + ".order_items");
+    }
+
+    private static void report(Connection connection, String label, String sql, int runs, Object... parameters)
+            throws SQLException {
+        long heap = time(connection, sql.formatted(HEAP), runs, parameters);
+        long partitioned = time(connection, sql.formatted(PART), runs, parameters);
+        System.out.printf("%-28s %12d %12d %22s%n", label, heap, partitioned,
+                partitionsScanned(connection, sql.formatted(PART), parameters));
+    }
+
+    // Médiane en microsecondes
+    private static long time(Connection connection, String sql, int runs, Object... parameters) throws SQLException {
+        long[] samples = new long[runs];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            for (int run = 0; run < runs; run++) {
+                long start = System.nanoTime();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        rows.getObject(1);
+                    }
+                }
+                samples[run] = (System.nanoTime() - start) / 1_000;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[runs / 2];
+    }
+
+    private static String partitionsScanned(Connection connection, String sql, Object... parameters)
+            throws SQLException {
+        long orders = 0;
+        long items = 0;
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            bind(statement, parameters);
+            try (ResultSet plan = statement.executeQuery()) {
+                while (plan.next()) {
+                    String line = plan.getString(1);
+                    orders += line.contains(" on orders_") ? 1 : 0;
+                    items += line.contains(" on order_items_") ? 1 : 0;
+                }
+            }
+        }
+        return "orders " + orders + ", items " + items;
+    }
+
+    private static void bind(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        return options;
+    }
+}
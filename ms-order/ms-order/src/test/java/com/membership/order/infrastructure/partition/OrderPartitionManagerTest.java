@@ -0,0 +1,78 @@
+package com.membership.order.infrastructure.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Profil postgres, base réelle : lancé seulement avec ORDER_DB_URL=jdbc:postgresql://...
+ * (ORDER_DB_USER, ORDER_DB_PASSWORD), ignoré sinon.
+ */
+@SpringBootTest
+@ActiveProfiles("postgres")
+@EnabledIfEnvironmentVariable(named = "ORDER_DB_URL", matches = "jdbc:postgresql:.*")
+class OrderPartitionManagerTest {
+
+    private static final long ORDER_ID = 990_000_001L;
+
+    // Au-delà de months-ahead : les lignes de ce mois tombent dans la partition DEFAULT
+    private final YearMonth month = YearMonth.now().plusYears(5);
+
+    @Autowired
+    OrderPartitionManager partitionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void dropMonth() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (partitionManager.attachedMonths().contains(month)) {
+                MonthlyPartitions.detach(month, true).forEach(jdbcTemplate::execute);
+            }
+            jdbcTemplate.update("DELETE FROM order_items WHERE order_id = ?", ORDER_ID);
+            jdbcTemplate.update("DELETE FROM orders WHERE id = ?", ORDER_ID);
+        });
+    }
+
+    @Test
+    void creatingAMonthMovesItsRowsOutOfTheDefaultPartition() {
+        Timestamp date = Timestamp.valueOf(month.atDay(15).atStartOfDay());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO orders (id, user_id, order_date, status, total_amount, shipping_address, "
+                    + "created_at, updated_at) VALUES (?, 1, ?, 'PENDING', 25.00, '1 rue de la Paix, Paris', ?, ?)",
+                    ORDER_ID, date, date, date);
+            jdbcTemplate.update("INSERT INTO order_items (id, order_id, order_date, product_id, product_name, quantity, "
+                    + "unit_price, subtotal) VALUES (?, ?, ?, 42, 'Lampe', 1, 25.00, 25.00)", ORDER_ID, ORDER_ID, date);
+        });
+        assertEquals(1, count("orders_default", "id"));
+
+        partitionManager.ensurePartitions(month, month);
+
+        assertTrue(partitionManager.attachedMonths().contains(month));
+        assertEquals(0, count("orders_default", "id"));
+        assertEquals(0, count("order_items_default", "order_id"));
+        assertEquals(1, count(MonthlyPartitions.name("orders", month), "id"));
+        assertEquals(1, count(MonthlyPartitions.name("order_items", month), "order_id"));
+        assertEquals(1, count("orders", "id"));
+    }
+
+    private long count(String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE " + column + " = ?",
+                Long.class, ORDER_ID);
+    }
+}
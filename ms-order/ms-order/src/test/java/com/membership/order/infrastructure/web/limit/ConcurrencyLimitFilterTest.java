@@ -0,0 +1,113 @@
+package com.membership.order.infrastructure.web.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void limitGrowsOnStableLatencyAndDropsWhenItRises() {
+        GradientLimit limit = new GradientLimit(10, 2, 100);
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limit, FAST);
+        }
+        int grown = limit.limit();
+        assertTrue(grown > 10, "limite après latence stable : " + grown);
+
+        for (int i = 0; i < 5; i++) {
+            saturate(limit, SLOW);
+        }
+        assertTrue(limit.limit() < grown, "limite après latence dégradée : " + limit.limit());
+        assertEquals(0, limit.inflight());
+    }
+
+    @Test
+    void steadyMixOfFastAndSlowRequestsDoesNotShrinkTheLimit() {
+        GradientLimit limit = new GradientLimit(20, 2, 100);
+        Random random = new Random(42);
+        long oneMs = TimeUnit.MILLISECONDS.toNanos(1);
+        long twentyMs = TimeUnit.MILLISECONDS.toNanos(20);
+
+        // Limite toujours pleine, chaque place libérée avec 1 ms ou 20 ms au hasard
+        while (limit.tryAcquire()) {
+        }
+        for (int i = 0; i < 10_000; i++) {
+            limit.release(random.nextBoolean() ? oneMs : twentyMs);
+            while (limit.tryAcquire()) {
+            }
+            assertTrue(limit.limit() >= 20, "limite après " + i + " échantillons : " + limit.limit());
+        }
+    }
+
+    @Test
+    void saturatedGroupIsShedWithRetryAfter() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        properties.setWrite(new ConcurrencyLimitProperties.Group(1, 1, 1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, registry);
+
+        // Une écriture en cours occupe l'unique place ; la suivante est rejetée, les lectures passent
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/orders"), new MockHttpServletResponse(), (req, res) -> {
+            filter.doFilter(request("POST", "/api/v1/orders"), shed, new MockFilterChain());
+            filter.doFilter(request("GET", "/api/v1/orders"), read, new MockFilterChain());
+        });
+
+        assertEquals(503, shed.getStatus());
+        assertEquals("2", shed.getHeader("Retry-After"));
+        assertEquals(200, read.getStatus());
+        assertEquals(1.0, registry.get("http.server.requests.shed").tag("group", "write").counter().count());
+        assertEquals(0.0, registry.get("http.server.concurrency.inflight").tag("group", "write").gauge().value());
+    }
+
+    @Test
+    void streamedResponseKeepsItsPlaceUntilTheStreamEnds() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setWrite(new ConcurrencyLimitProperties.Group(1, 1, 1));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, new SimpleMeterRegistry());
+
+        // Le contrôleur rend la main avant d'écrire le flux : la place reste occupée
+        MockHttpServletRequest streaming = request("PUT", "/api/v1/orders/status");
+        streaming.setAsyncSupported(true);
+        filter.doFilter(streaming, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/orders"), shed, new MockFilterChain());
+        assertEquals(503, shed.getStatus());
+
+        streaming.getAsyncContext().complete();
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/orders"), accepted, new MockFilterChain());
+        assertEquals(200, accepted.getStatus());
+    }
+
+    // Limite entièrement occupée puis libérée avec la même latence
+    private static void saturate(GradientLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos);
+        }
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,162 @@
+package com.membership.product.application.catalog;
+
+import com.membership.product.domain.entity.Product;
+import com.membership.product.domain.entity.ProductCategory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vue immuable du catalogue : index par id, par catégorie (EnumMap) et produits disponibles.
+ * Jamais modifiée après construction, lue sans verrou ; une modification produit un nouvel instantané.
+ * Les Product référencés sont des copies détachées et ne doivent pas être modifiés.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    // id -> position dans all, partagé par les instantanés tant que les ids ne changent pas
+    private final Map<Long, Integer> positions;
+    private final Product[] all;
+    private final List<Product> allView;
+    private final Map<ProductCategory, List<Product>> byCategory;
+    private final List<Product> available;
+
+    private CatalogSnapshot(long version, Collection<Product> products) {
+        Product[] sorted = products.toArray(new Product[0]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.getId(), b.getId()));
+
+        Map<Long, Integer> ids = new HashMap<>();
+        Map<ProductCategory, List<Product>> categories = new EnumMap<>(ProductCategory.class);
+        List<Product> inStock = new ArrayList<>();
+
+        for (int i = 0; i < sorted.length; i++) {
+            Product product = sorted[i];
+            ids.put(product.getId(), i);
+            categories.computeIfAbsent(product.getCategory(), c -> new ArrayList<>()).add(product);
+            if (isAvailable(product)) {
+                inStock.add(product);
+            }
+        }
+        categories.replaceAll((category, list) -> List.copyOf(list));
+
+        this.version = version;
+        this.positions = Collections.unmodifiableMap(ids);
+        this.all = sorted;
+        this.allView = Collections.unmodifiableList(Arrays.asList(sorted));
+        this.byCategory = Collections.unmodifiableMap(categories);
+        this.available = List.copyOf(inStock);
+    }
+
+    private CatalogSnapshot(long version, Map<Long, Integer> positions, Product[] all,
+                            Map<ProductCategory, List<Product>> byCategory, List<Product> available) {
+        this.version = version;
+        this.positions = positions;
+        this.all = all;
+        this.allView = Collections.unmodifiableList(Arrays.asList(all));
+        this.byCategory = byCategory;
+        this.available = available;
+    }
+
+    public static CatalogSnapshot of(long version, Collection<Product> products) {
+        return new CatalogSnapshot(version, products);
+    }
+
+    /**
+     * Copie sur écriture : nouvel instantané avec le produit ajouté ou remplacé.
+     * Produit connu de même catégorie (stock, prix...) : seule son entrée est remplacée, sans tri
+     * ni reconstruction des index ; produit nouveau ou changement de catégorie : reconstruction.
+     */
+    public CatalogSnapshot with(Product product) {
+        if (!replacesInPlace(product)) {
+            List<Product> products = new ArrayList<>(allView);
+            Integer position = positions.get(product.getId());
+            if (position != null) {
+                products.set(position, product);
+            } else {
+                products.add(product);
+            }
+            return new CatalogSnapshot(version + 1, products);
+        }
+        Product previous = get(product.getId());
+        Product[] products = all.clone();
+        products[positions.get(product.getId())] = product;
+
+        Map<ProductCategory, List<Product>> categories = new EnumMap<>(byCategory);
+        categories.put(product.getCategory(), replace(byCategory.get(product.getCategory()), product, true));
+        List<Product> inStock = isAvailable(previous) || isAvailable(product)
+                ? replace(available, product, isAvailable(product)) : available;
+
+        return new CatalogSnapshot(version + 1, positions, products,
+                Collections.unmodifiableMap(categories), inStock);
+    }
+
+    public boolean replacesInPlace(Product product) {
+        Product previous = get(product.getId());
+        return previous != null && previous.getCategory() == product.getCategory();
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return all.length;
+    }
+
+    public Product get(Long id) {
+        Integer position = positions.get(id);
+        return position == null ? null : all[position];
+    }
+
+    public List<Product> all() {
+        return allView;
+    }
+
+    public List<Product> byCategory(ProductCategory category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    public List<Product> available() {
+        return available;
+    }
+
+    // Liste triée par id : entrée remplacée, insérée ou retirée (keep = false), copie de la liste
+    private static List<Product> replace(List<Product> sorted, Product product, boolean keep) {
+        int low = 0;
+        int high = sorted.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int order = Long.compare(sorted.get(middle).getId(), product.getId());
+            if (order == 0) {
+                low = middle;
+                break;
+            }
+            if (order < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        boolean present = low < sorted.size() && sorted.get(low).getId().equals(product.getId());
+        List<Product> changed = new ArrayList<>(sorted);
+        if (present && keep) {
+            changed.set(low, product);
+        } else if (present) {
+            changed.remove(low);
+        } else if (keep) {
+            changed.add(low, product);
+        }
+        return Collections.unmodifiableList(changed);
+    }
+
+    private static boolean isAvailable(Product product) {
+        return product.getStock() != null && product.getStock() > 0
+                && Boolean.TRUE.equals(product.getActive());
+    }
+}
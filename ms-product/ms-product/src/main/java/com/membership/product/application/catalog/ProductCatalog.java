@@ -0,0 +1,154 @@
+package com.membership.product.application.catalog;
+
+import com.membership.product.domain.entity.Product;
+import com.membership.product.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalogue en mémoire servi aux lectures de ProductService.
+ * Chargé au démarrage puis resynchronisé périodiquement avec la base (autres instances) ;
+ * chaque écriture locale remplace l'instantané après commit.
+ */
+@Component
+@EnableScheduling
+public class ProductCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalog.class);
+
+    private final ProductRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer rebuildTimer;
+
+    // null tant que le premier chargement n'est pas terminé
+    private volatile CatalogSnapshot current;
+
+    public ProductCatalog(ProductRepository repository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.rebuildTimer = Timer.builder("catalog.snapshot.rebuild")
+                .description("Durée de reconstruction complète d'un instantané du catalogue")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.size", this, catalog -> catalog.current == null ? 0 : catalog.current.size())
+                .description("Nombre de produits dans l'instantané courant")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.version", this, catalog -> catalog.current == null ? 0 : catalog.current.version())
+                .description("Version de l'instantané courant")
+                .register(meterRegistry);
+    }
+
+    public CatalogSnapshot current() {
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${catalog.snapshot.full-refresh-interval:PT1M}",
+            fixedDelayString = "${catalog.snapshot.full-refresh-interval:PT1M}")
+    public void reload() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<Product> loaded = readOnlyTransaction.execute(status -> repository.findAll());
+
+        long start = System.nanoTime();
+        synchronized (this) {
+            CatalogSnapshot previous = current;
+            Map<Long, Product> products = new HashMap<>();
+            for (Product product : loaded) {
+                products.put(product.getId(), copyOf(product));
+            }
+            // Écritures locales commitées pendant le chargement : on garde la plus récente
+            if (previous != null) {
+                for (Product local : previous.all()) {
+                    Product fromDb = products.get(local.getId());
+                    if (fromDb == null ? isAfter(local.getUpdatedAt(), startedAt)
+                            : isAfter(local.getUpdatedAt(), fromDb.getUpdatedAt())) {
+                        products.put(local.getId(), local);
+                    }
+                }
+            }
+            current = CatalogSnapshot.of(previous == null ? 1 : previous.version() + 1, products.values());
+        }
+        rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        logger.debug("Catalogue rechargé: {} produits", loaded.size());
+    }
+
+    /**
+     * Publie le produit dans le catalogue après commit de la transaction courante
+     * (immédiatement hors transaction). Un rollback laisse l'instantané inchangé.
+     */
+    public void publishAfterCommit(Product product) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(product);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(product);
+            }
+        });
+    }
+
+    void publish(Product product) {
+        Product copy = copyOf(product);
+        long start = System.nanoTime();
+        synchronized (this) {
+            CatalogSnapshot previous = current;
+            if (previous == null) {
+                // Pas encore chargé : le chargement initial verra ce produit
+                return;
+            }
+            Product existing = previous.get(copy.getId());
+            if (existing != null && isAfter(existing.getUpdatedAt(), copy.getUpdatedAt())) {
+                return;
+            }
+            // Mise à jour d'un produit connu (stock après commande) : une entrée remplacée, pas de reconstruction
+            if (previous.replacesInPlace(copy)) {
+                current = previous.with(copy);
+                return;
+            }
+            current = previous.with(copy);
+        }
+        rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean isAfter(LocalDateTime a, LocalDateTime b) {
+        return a != null && (b == null || a.isAfter(b));
+    }
+
+    private static Product copyOf(Product source) {
+        Product copy = new Product();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setPrice(source.getPrice());
+        copy.setStock(source.getStock());
+        copy.setCategory(source.getCategory());
+        copy.setImageUrl(source.getImageUrl());
+        copy.setActive(source.getActive());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+}
@@ -1,9 +1,9 @@
 package com.membership.product.application.dto;
 
 import com.membership.product.domain.entity.ProductCategory;
+import com.membership.product.domain.value.Money;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -12,7 +12,7 @@ public class ProductResponseDTO {
     private Long id;
     private String name;
     private String description;
-    private BigDecimal price;
+    private Money price;
     private Integer stock;
     private ProductCategory category;
     private String imageUrl;
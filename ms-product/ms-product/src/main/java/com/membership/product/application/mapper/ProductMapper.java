@@ -3,6 +3,7 @@ package com.membership.product.application.mapper;
 import com.membership.product.application.dto.ProductRequestDTO;
 import com.membership.product.application.dto.ProductResponseDTO;
 import com.membership.product.domain.entity.Product;
+import com.membership.product.domain.value.Money;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -12,7 +13,7 @@ public class ProductMapper {
         Product product = new Product();
         product.setName(dto.getName());
         product.setDescription(dto.getDescription());
-        product.setPrice(dto.getPrice());
+        product.setPrice(Money.of(dto.getPrice()));
         product.setStock(dto.getStock());
         product.setCategory(dto.getCategory());
         product.setImageUrl(dto.getImageUrl());
@@ -23,7 +24,7 @@ public class ProductMapper {
     public void updateEntity(Product product, ProductRequestDTO dto) {
         product.setName(dto.getName());
         product.setDescription(dto.getDescription());
-        product.setPrice(dto.getPrice());
+        product.setPrice(Money.of(dto.getPrice()));
         product.setStock(dto.getStock());
         product.setCategory(dto.getCategory());
         product.setImageUrl(dto.getImageUrl());
@@ -1,5 +1,7 @@
 package com.membership.product.application.service;
 
+import com.membership.product.application.catalog.CatalogSnapshot;
+import com.membership.product.application.catalog.ProductCatalog;
 import com.membership.product.domain.entity.Product;
 import com.membership.product.domain.entity.ProductCategory;
 import com.membership.product.domain.repository.ProductRepository;
@@ -7,63 +9,126 @@ import com.membership.product.infrastructure.exception.ResourceNotFoundException
 import com.membership.product.infrastructure.metrics.ProductMetrics;
 import lombok.Data;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @Data
 @Transactional
 public class ProductService {
 
+    static final int MAX_BATCH_IDS = 100;
+
     private final ProductRepository repository;
     private final ProductMetrics productMetrics;
+    private final ProductCatalog catalog;
+    private final ReadCoalescer coalescer;
 
     public ProductService(ProductRepository repository,
-                          ProductMetrics productMetrics) {
+                          ProductMetrics productMetrics,
+                          ProductCatalog catalog,
+                          ReadCoalescer coalescer) {
         this.repository = repository;
         this.productMetrics = productMetrics;
+        this.catalog = catalog;
+        this.coalescer = coalescer;
     }
 
+    // Lectures servies par l'instantané du catalogue (SUPPORTS : pas de transaction ni de connexion),
+    // la base n'est interrogée qu'avant le premier chargement ; lectures identiques simultanées
+    // en base regroupées par le ReadCoalescer
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Product> findAll() {
-        return repository.findAll();
+        CatalogSnapshot snapshot = catalog.current();
+        return snapshot != null ? snapshot.all() : repository.findAll();
     }
 
     public Product create(Product product) {
         Product saved = repository.save(product);
+        catalog.publishAfterCommit(saved);
 
         productMetrics.incrementProductCreated(saved.getCategory());
 
         return saved;
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Product findById(Long id) {
-        return repository.findById(id)
+        CatalogSnapshot snapshot = catalog.current();
+        Product product = snapshot != null ? snapshot.get(id) : null;
+        if (product != null) {
+            return product;
+        }
+        return coalescer.coalesce("findById", id, () -> repository.findById(id)
                 .orElseThrow(() ->
-                        new ResourceNotFoundException("Product", "id", id));
+                        new ResourceNotFoundException("Product", "id", id)));
+    }
+
+    // Lot d'ids : instantané d'abord, un seul SELECT ... IN pour les absents ; ids inconnus ignorés
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Product> findAllById(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("Au plus " + MAX_BATCH_IDS + " identifiants par lot");
+        }
+        CatalogSnapshot snapshot = catalog.current();
+        if (snapshot == null) {
+            return repository.findByIdIn(ids);
+        }
+        List<Product> found = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Product product = snapshot.get(id);
+            if (product != null) {
+                found.add(product);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            found.addAll(repository.findByIdIn(missing));
+        }
+        return found;
     }
 
     public Product update(Long id, Product updated) {
-        Product existing = findById(id);
+        Product existing = repository.findById(id)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Product", "id", id));
         existing.setName(updated.getName());
         existing.setDescription(updated.getDescription());
         existing.setPrice(updated.getPrice());
         existing.setStock(updated.getStock());
         existing.setCategory(updated.getCategory());
         existing.setImageUrl(updated.getImageUrl());
+        catalog.publishAfterCommit(existing);
         return existing;
     }
 
+    // SUPPORTS : un appelant en attente d'une recherche identique ne retient pas de connexion
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Product> searchByName(String name) {
-        return repository.findByNameContainingIgnoreCase(name);
+        return coalescer.coalesce("search", name.toLowerCase(Locale.ROOT),
+                () -> repository.findByNameContainingIgnoreCase(name));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Product> findByCategory(ProductCategory category) {
-        return repository.findByCategory(category);
+        CatalogSnapshot snapshot = catalog.current();
+        if (snapshot != null) {
+            return snapshot.byCategory(category);
+        }
+        return coalescer.coalesce("category", category, () -> repository.findByCategory(category));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Product> available() {
-        return repository.findByStockGreaterThanAndActiveTrue(0);
+        CatalogSnapshot snapshot = catalog.current();
+        return snapshot != null ? snapshot.available() : repository.findByStockGreaterThanAndActiveTrue(0);
     }
 
 
@@ -88,6 +153,7 @@ public class ProductService {
         }
 
         product.setStock(newStock);
+        catalog.publishAfterCommit(product);
     }
 
 
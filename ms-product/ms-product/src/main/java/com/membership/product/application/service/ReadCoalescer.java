@@ -0,0 +1,99 @@
+package com.membership.product.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lectures identiques simultanées regroupées (single-flight) : le premier appelant exécute la
+ * requête, les suivants attendent son résultat (ou son exception) au plus max-wait, puis
+ * lisent eux-mêmes. Une seule requête en base à la fois par clé chaude.
+ * Pas de regroupement dans une transaction active : elle peut voir ses propres écritures.
+ * Compteur products.read.coalescing{read, result=executed|shared|timeout}.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final boolean enabled;
+    private final long maxWaitNanos;
+    private final MeterRegistry meterRegistry;
+    private final Map<Flight, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(@Value("${products.read-coalescing.enabled:true}") boolean enabled,
+                         @Value("${products.read-coalescing.max-wait:1s}") Duration maxWait,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String read, Object key, Supplier<T> lookup) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return lookup.get();
+        }
+        Flight flight = new Flight(read, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flight, mine);
+        if (leader == null) {
+            return (T) execute(flight, mine, lookup);
+        }
+
+        try {
+            Object shared = leader.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            count(read, "shared");
+            return (T) shared;
+        } catch (ExecutionException e) {
+            count(read, "shared");
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            count(read, "timeout");
+            return lookup.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            count(read, "timeout");
+            return lookup.get();
+        }
+    }
+
+    private Object execute(Flight flight, CompletableFuture<Object> mine, Supplier<?> lookup) {
+        count(flight.read(), "executed");
+        try {
+            Object value = lookup.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Les appelants suivants repartent sur une nouvelle lecture
+            inFlight.remove(flight, mine);
+        }
+    }
+
+    private void count(String read, String result) {
+        Counter.builder("products.read.coalescing")
+                .description("Lectures produits exécutées ou partagées avec une lecture identique en cours")
+                .tag("read", read)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Flight(String read, Object key) {
+    }
+}
@@ -1,10 +1,10 @@
 package com.membership.product.domain.entity;
 
+import com.membership.product.domain.value.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -28,10 +29,8 @@ public class Product {
     private String description;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    @DecimalMin("0.01")
-    @Digits(integer = 8, fraction = 2)
     @NotNull
-    private BigDecimal price;
+    private Money price;
 
     @Column(nullable = false)
     @Min(0)
@@ -53,6 +52,12 @@ public class Product {
 
     private LocalDateTime updatedAt;
 
+    // Bornes de ProductRequestDTO (@DecimalMin 0.01, @Digits 8 + 2) en centimes
+    @AssertTrue
+    private boolean isPriceInRange() {
+        return price == null || (price.minorUnits() >= 1 && price.minorUnits() <= 9_999_999_999L);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -4,6 +4,7 @@ import com.membership.product.domain.entity.Product;
 import com.membership.product.domain.entity.ProductCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -12,6 +13,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByCategory(ProductCategory category);
 
+    List<Product> findByIdIn(Collection<Long> ids);
+
     List<Product> findByStockGreaterThanAndActiveTrue(int stock);
 
     long countByStockLessThan(int stock);
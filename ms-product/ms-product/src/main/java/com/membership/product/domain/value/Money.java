@@ -0,0 +1,91 @@
+package com.membership.product.domain.value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Montant en centimes (long) et devise : additions et multiplications sans BigDecimal
+ * intermédiaire, débordement signalé par ArithmeticException.
+ * Conversion depuis BigDecimal arrondie comme les colonnes numeric(p, 2) : deux décimales, HALF_UP.
+ * JPA : MoneyConverter ; JSON : nombre décimal (MoneyJson), devise implicite EUR.
+ */
+@JsonSerialize(using = MoneyJson.Serializer.class)
+@JsonDeserialize(using = MoneyJson.Deserializer.class)
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("EUR");
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+        if (currency.getDefaultFractionDigits() != SCALE) {
+            throw new IllegalArgumentException("Devise sans centimes non supportée : " + currency);
+        }
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).scaleByPowerOfTen(SCALE).longValueExact());
+    }
+
+    public static Money parse(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return with(Math.addExact(minorUnits, sameCurrency(other).minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return with(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits));
+    }
+
+    public Money times(int quantity) {
+        return with(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public Money negate() {
+        return with(Math.negateExact(minorUnits));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, sameCurrency(other).minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private Money with(long amount) {
+        if (amount == minorUnits) {
+            return this;
+        }
+        return amount == 0 && currency == DEFAULT_CURRENCY ? ZERO : new Money(amount, currency);
+    }
+
+    private Money sameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Devises différentes : " + currency + " et " + other.currency);
+        }
+        return other;
+    }
+}
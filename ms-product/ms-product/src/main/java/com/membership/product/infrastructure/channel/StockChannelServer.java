@@ -0,0 +1,334 @@
+package com.membership.product.infrastructure.channel;
+
+import com.membership.product.application.service.ProductService;
+import com.membership.product.infrastructure.channel.StockChannelProtocol.Frame;
+import com.membership.product.infrastructure.exception.ResourceNotFoundException;
+import com.membership.product.infrastructure.web.WireFormat;
+import com.membership.product.infrastructure.web.cache.ProductResponseCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal interne des opérations de stock : connexions TCP persistantes depuis ms-order,
+ * requêtes multiplexées traitées en parallèle, réponses écrites dans l'ordre d'achèvement.
+ * Contrôle de flux : au-delà de max-in-flight réponses non écrites, la connexion n'est plus lue
+ * et la fenêtre TCP remonte la contrainte jusqu'au client.
+ * Pas de JWT sur ce canal : écoute sur l'interface locale par défaut, jeton partagé obligatoire
+ * (démarrage refusé sans stock-channel.token), jeton refusé : réponse UNAUTHORIZED puis fermeture.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stock-channel", name = "enabled", havingValue = "true")
+public class StockChannelServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockChannelServer.class);
+
+    private final ProductService productService;
+    private final ProductResponseCache responseCache;
+    private final MeterRegistry meterRegistry;
+    private final String address;
+    private final int port;
+    private final String token;
+    private final int workers;
+    private final int maxInFlight;
+    private final boolean virtualThreads;
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile ServerSocket serverSocket;
+    private ExecutorService workerPool;
+
+    public StockChannelServer(ProductService productService,
+                              ProductResponseCache responseCache,
+                              MeterRegistry meterRegistry,
+                              @Value("${stock-channel.address:127.0.0.1}") String address,
+                              @Value("${stock-channel.port:9082}") int port,
+                              @Value("${stock-channel.token:}") String token,
+                              @Value("${stock-channel.workers:16}") int workers,
+                              @Value("${stock-channel.max-in-flight:256}") int maxInFlight,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalStateException("Canal stock : stock-channel.token obligatoire avec stock-channel.enabled=true");
+        }
+        this.productService = productService;
+        this.responseCache = responseCache;
+        this.meterRegistry = meterRegistry;
+        this.address = address;
+        this.port = port;
+        this.token = token;
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.virtualThreads = virtualThreads;
+
+        Gauge.builder("stock.channel.connections", connections, Set::size)
+                .description("Connexions ouvertes sur le canal stock")
+                .register(meterRegistry);
+        Gauge.builder("stock.channel.in.flight", inFlight, AtomicInteger::get)
+                .description("Requêtes du canal stock en cours de traitement")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        try {
+            ServerSocket socket = new ServerSocket();
+            socket.bind(new InetSocketAddress(address, port));
+            serverSocket = socket;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Canal stock : écoute impossible sur " + address + ":" + port, ex);
+        }
+        // Mode threads virtuels : un thread par requête, la concurrence reste bornée par max-in-flight
+        AtomicInteger workerIds = new AtomicInteger();
+        workerPool = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stock-channel-worker-", 1).factory())
+                : Executors.newFixedThreadPool(workers,
+                task -> daemon(task, "stock-channel-worker-" + workerIds.incrementAndGet()));
+        daemon(this::acceptLoop, "stock-channel-acceptor").start();
+        logger.info("Canal stock à l'écoute sur {}:{}", address, getPort());
+    }
+
+    @Override
+    public void stop() {
+        ServerSocket socket = serverSocket;
+        serverSocket = null;
+        closeQuietly(socket);
+        connections.forEach(Connection::close);
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return serverSocket != null;
+    }
+
+    // Port effectif (stock-channel.port=0 : port éphémère)
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        return socket != null ? socket.getLocalPort() : port;
+    }
+
+    private void acceptLoop() {
+        ServerSocket socket;
+        while ((socket = serverSocket) != null) {
+            try {
+                Socket client = socket.accept();
+                client.setTcpNoDelay(true);
+                new Connection(client, connectionIds.incrementAndGet()).start();
+            } catch (IOException ex) {
+                if (serverSocket != null) {
+                    logger.warn("Canal stock : connexion refusée: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private Frame handle(Frame request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        inFlight.incrementAndGet();
+        Frame reply;
+        try {
+            reply = execute(request);
+        } catch (ResourceNotFoundException ex) {
+            reply = error(request, StockChannelProtocol.NOT_FOUND, ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            reply = error(request, StockChannelProtocol.REJECTED, ex.getMessage());
+        } catch (RuntimeException ex) {
+            logger.error("Canal stock : échec de l'opération {}", request.code(), ex);
+            reply = error(request, StockChannelProtocol.ERROR, "Erreur interne");
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        sample.stop(Timer.builder("stock.channel.requests")
+                .description("Opérations du canal stock")
+                .tag("operation", operationName(request.code()))
+                .tag("status", statusName(reply.code()))
+                .register(meterRegistry));
+        return reply;
+    }
+
+    private Frame execute(Frame request) {
+        ByteBuffer payload = ByteBuffer.wrap(request.payload());
+        switch (request.code()) {
+            case StockChannelProtocol.GET_PRODUCT -> {
+                // Mêmes octets CBOR que GET /api/v1/products/{id}, sérialisés une seule fois
+                byte[] product = responseCache.product(
+                        productService.findById(payload.getLong()), null, WireFormat.CBOR).getBody();
+                return new Frame(request.id(), StockChannelProtocol.OK, product);
+            }
+            case StockChannelProtocol.ADJUST_STOCK -> {
+                long productId = payload.getLong();
+                productService.updateStock(productId, payload.getInt());
+                responseCache.evict(productId);
+                return new Frame(request.id(), StockChannelProtocol.OK, new byte[0]);
+            }
+            default -> throw new IllegalArgumentException("Opération inconnue: " + request.code());
+        }
+    }
+
+    private static Frame error(Frame request, byte status, String message) {
+        return new Frame(request.id(), status, String.valueOf(message).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String operationName(byte code) {
+        return switch (code) {
+            case StockChannelProtocol.GET_PRODUCT -> "get_product";
+            case StockChannelProtocol.ADJUST_STOCK -> "adjust_stock";
+            default -> "unknown";
+        };
+    }
+
+    private static String statusName(byte code) {
+        return switch (code) {
+            case StockChannelProtocol.OK -> "ok";
+            case StockChannelProtocol.NOT_FOUND -> "not_found";
+            case StockChannelProtocol.REJECTED -> "rejected";
+            default -> "error";
+        };
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // fermeture best-effort
+        }
+    }
+
+    /**
+     * Une connexion : un lecteur qui authentifie le HELLO puis distribue les requêtes aux workers,
+     * un écrivain, démarré après l'authentification, qui vide la file des réponses et ne flush
+     * qu'une fois la file vide.
+     */
+    private final class Connection {
+
+        private final Socket socket;
+        private final int id;
+        private final Semaphore permits = new Semaphore(maxInFlight);
+        private final BlockingQueue<Frame> replies = new LinkedBlockingQueue<>();
+        private volatile boolean open = true;
+        private volatile Thread writer;
+
+        Connection(Socket socket, int id) {
+            this.socket = socket;
+            this.id = id;
+        }
+
+        void start() {
+            connections.add(this);
+            daemon(this::readLoop, "stock-channel-reader-" + id).start();
+        }
+
+        private void readLoop() {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+                if (!authenticate(StockChannelProtocol.read(in))) {
+                    return;
+                }
+                writer = daemon(this::writeLoop, "stock-channel-writer-" + id);
+                writer.start();
+                while (open) {
+                    Frame request = StockChannelProtocol.read(in);
+                    permits.acquire();
+                    workerPool.execute(() -> replies.add(handle(request)));
+                }
+            } catch (EOFException | SocketException | RejectedExecutionException ex) {
+                logger.debug("Canal stock : connexion {} fermée", id);
+            } catch (IOException ex) {
+                logger.warn("Canal stock : connexion {} interrompue: {}", id, ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private boolean authenticate(Frame hello) throws IOException {
+            boolean accepted = hello.code() == StockChannelProtocol.HELLO
+                    && token.equals(new String(hello.payload(), StandardCharsets.UTF_8));
+            if (accepted) {
+                // comme toute réponse, l'accusé de HELLO rend son permis une fois écrit
+                permits.acquireUninterruptibly();
+                replies.add(new Frame(hello.id(), StockChannelProtocol.OK, new byte[0]));
+            } else {
+                logger.warn("Canal stock : connexion {} refusée (jeton invalide)", id);
+                // Pas encore d'écrivain : refus écrit directement, avant la fermeture
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                StockChannelProtocol.write(out, error(hello, StockChannelProtocol.UNAUTHORIZED, "Jeton invalide"));
+                out.flush();
+            }
+            return accepted;
+        }
+
+        private void writeLoop() {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream(), 64 * 1024))) {
+                while (open) {
+                    Frame reply = replies.take();
+                    do {
+                        StockChannelProtocol.write(out, reply);
+                        permits.release();
+                    } while ((reply = replies.poll()) != null);
+                    out.flush();
+                }
+            } catch (IOException ex) {
+                logger.debug("Canal stock : écriture interrompue sur la connexion {}: {}", id, ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            if (open) {
+                open = false;
+                connections.remove(this);
+                closeQuietly(socket);
+                Thread current = writer;
+                if (current != null) {
+                    current.interrupt();
+                }
+            }
+        }
+    }
+}
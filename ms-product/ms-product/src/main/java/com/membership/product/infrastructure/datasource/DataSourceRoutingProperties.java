@@ -0,0 +1,39 @@
+package com.membership.product.infrastructure.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled;
+
+    // Au-delà de ce retard, un réplica est retiré de la rotation
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private ReplicationStandIn replicationStandIn = new ReplicationStandIn();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+        private int maximumPoolSize = 10;
+    }
+
+    // Réplication simulée pour les bases H2 locales (copie périodique du primaire)
+    @Data
+    public static class ReplicationStandIn {
+        private boolean enabled;
+        private Duration interval = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,55 @@
+package com.membership.product.infrastructure.web;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Formats de réponse des endpoints produits. CBOR (binaire, RFC 8949) est réservé
+ * aux clients qui le demandent explicitement dans Accept ; JSON reste le défaut.
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor");
+
+    private final MediaType mediaType;
+    private final String tag;
+
+    WireFormat(MediaType mediaType, String tag) {
+        this.mediaType = mediaType;
+        this.tag = tag;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    // Suffixe d'ETag et préfixe de clé de cache (vide pour JSON)
+    public String tag() {
+        return tag;
+    }
+
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || !accept.contains(CBOR.mediaType.getSubtype())) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return JSON;
+        }
+        double cbor = 0;
+        double json = 0;
+        for (MediaType type : accepted) {
+            if (type.equalsTypeAndSubtype(CBOR.mediaType)) {
+                cbor = Math.max(cbor, type.getQualityValue());
+            } else if (type.includes(JSON.mediaType)) {
+                json = Math.max(json, type.getQualityValue());
+            }
+        }
+        return cbor > 0 && cbor >= json ? CBOR : JSON;
+    }
+}
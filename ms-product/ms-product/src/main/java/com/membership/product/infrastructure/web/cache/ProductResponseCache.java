@@ -0,0 +1,229 @@
+package com.membership.product.infrastructure.web.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.membership.product.application.mapper.ProductMapper;
+import com.membership.product.domain.entity.Product;
+import com.membership.product.infrastructure.web.ResourceVersion;
+import com.membership.product.infrastructure.web.WireFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Réponses des endpoints produits déjà sérialisées (JSON compressé au-delà d'un seuil, ou CBOR).
+ * Un produit est indexé par sa version (updatedAt) ; une vue liste par l'instance de liste
+ * de l'instantané du catalogue, remplacée à chaque modification.
+ * Sur un hit, les octets sont renvoyés tels quels : ni DTO, ni Jackson.
+ * Chaque réponse porte ETag et Last-Modified : Spring répond 304 à un client à jour
+ * sans écrire le corps.
+ */
+@Component
+public class ProductResponseCache {
+
+    private static final String LIST_PREFIX = "list:";
+
+    private final Map<WireFormat, ObjectMapper> writers;
+    private final ProductMapper mapper;
+    private final boolean enabled;
+    private final int gzipMinSize;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesIdentity;
+    private final Counter bytesGzip;
+
+    public ProductResponseCache(ObjectMapper objectMapper,
+                                Jackson2ObjectMapperBuilder objectMapperBuilder,
+                                ProductMapper mapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${products.response-cache.enabled:true}") boolean enabled,
+                                @Value("${products.response-cache.gzip-min-size:2048}") int gzipMinSize,
+                                @Value("${products.response-cache.max-entries:10000}") int maxEntries) {
+        this.writers = Map.of(
+                WireFormat.JSON, objectMapper,
+                WireFormat.CBOR, objectMapperBuilder.factory(new CBORFactory()).build());
+        this.mapper = mapper;
+        this.enabled = enabled;
+        this.gzipMinSize = gzipMinSize;
+        this.maxEntries = maxEntries;
+
+        this.hits = requests("hit", meterRegistry);
+        this.misses = requests("miss", meterRegistry);
+        this.bytesIdentity = bytesServed("identity", meterRegistry);
+        this.bytesGzip = bytesServed("gzip", meterRegistry);
+
+        Gauge.builder("products.response.cache.hit.ratio", this, ProductResponseCache::hitRatio)
+                .description("Part des réponses produits servies depuis le cache")
+                .register(meterRegistry);
+        Gauge.builder("products.response.cache.entries", entries, Map::size)
+                .description("Réponses produits en cache")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<byte[]> product(Product product, String acceptEncoding) {
+        return product(product, acceptEncoding, WireFormat.JSON);
+    }
+
+    public ResponseEntity<byte[]> product(Product product, String acceptEncoding, WireFormat format) {
+        String key = format.tag() + product.getId();
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.matches(product.getUpdatedAt())) {
+            return write(store(key, format, product.getUpdatedAt(),
+                    ResourceVersion.of(product.getId(), product.getUpdatedAt()),
+                    mapper.toResponse(product)), acceptEncoding, false);
+        }
+        hits.increment();
+        return write(entry, acceptEncoding, true);
+    }
+
+    public ResponseEntity<byte[]> list(String view, List<Product> products, String acceptEncoding) {
+        return list(view, products, acceptEncoding, WireFormat.JSON);
+    }
+
+    public ResponseEntity<byte[]> list(String view, List<Product> products, String acceptEncoding,
+                                       WireFormat format) {
+        String key = format.tag() + LIST_PREFIX + view;
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.matches(products)) {
+            return write(store(key, format, products,
+                    ResourceVersion.ofAll(products, Product::getId, Product::getUpdatedAt),
+                    products.stream().map(mapper::toResponse).toList()), acceptEncoding, false);
+        }
+        hits.increment();
+        return write(entry, acceptEncoding, true);
+    }
+
+    /**
+     * Liste ad hoc (lot d'ids) : sérialisée dans le format demandé sans être gardée,
+     * chaque combinaison d'ids étant rarement redemandée.
+     */
+    public ResponseEntity<byte[]> uncachedList(List<Product> products, String acceptEncoding, WireFormat format) {
+        return write(serialize(format, products,
+                ResourceVersion.ofAll(products, Product::getId, Product::getUpdatedAt),
+                products.stream().map(mapper::toResponse).toList()), acceptEncoding, false);
+    }
+
+    /**
+     * Écriture locale : la fiche du produit (tous formats) et toutes les vues listes sont périmées.
+     */
+    public void evict(Long productId) {
+        for (WireFormat format : WireFormat.values()) {
+            entries.remove(format.tag() + productId);
+        }
+        entries.keySet().removeIf(key -> key.contains(LIST_PREFIX));
+    }
+
+    private Entry store(String key, WireFormat format, Object version, ResourceVersion resourceVersion, Object body) {
+        misses.increment();
+        Entry entry = serialize(format, version, resourceVersion, body);
+
+        if (enabled) {
+            if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+                entries.clear();
+            }
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    private Entry serialize(WireFormat format, Object version, ResourceVersion resourceVersion, Object body) {
+        byte[] bytes;
+        try {
+            bytes = writers.get(format).writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Sérialisation de la réponse impossible", ex);
+        }
+        // CBOR est déjà compact : seule la représentation JSON est compressée
+        byte[] gzip = format == WireFormat.JSON && bytes.length >= gzipMinSize ? gzip(bytes) : null;
+        return new Entry(version, format, resourceVersion, bytes, gzip);
+    }
+
+    private ResponseEntity<byte[]> write(Entry entry, String acceptEncoding, boolean hit) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(entry.format.mediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (entry.resourceVersion.lastModified() >= 0) {
+            response.lastModified(entry.resourceVersion.lastModified());
+        }
+
+        // ETag fort distinct par représentation (format, codage de contenu)
+        String etag = entry.resourceVersion.etag();
+        if (!entry.format.tag().isEmpty()) {
+            etag = withSuffix(etag, entry.format.tag());
+        }
+        if (entry.gzip != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            if (hit) {
+                bytesGzip.increment(entry.gzip.length);
+            }
+            return response.eTag(withSuffix(etag, "gzip"))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(entry.gzip.length)
+                    .body(entry.gzip);
+        }
+        if (hit) {
+            bytesIdentity.increment(entry.body.length);
+        }
+        return response.eTag(etag).contentLength(entry.body.length).body(entry.body);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static String withSuffix(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static Counter requests(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("products.response.cache.requests")
+                .description("Réponses produits servies depuis le cache (hit) ou sérialisées (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter bytesServed(String encoding, MeterRegistry meterRegistry) {
+        return Counter.builder("products.response.cache.bytes.served")
+                .description("Octets de réponse produits envoyés depuis le cache")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .register(meterRegistry);
+    }
+
+    private record Entry(Object version, WireFormat format, ResourceVersion resourceVersion,
+                         byte[] body, byte[] gzip) {
+
+        boolean matches(Object current) {
+            // Listes : identité de l'instance de l'instantané ; produits : updatedAt
+            return current instanceof List<?> ? version == current
+                    : current != null && current.equals(version);
+        }
+    }
+}
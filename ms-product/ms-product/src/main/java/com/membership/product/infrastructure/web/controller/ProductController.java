@@ -6,8 +6,15 @@ import com.membership.product.application.mapper.ProductMapper;
 import com.membership.product.application.service.ProductService;
 import com.membership.product.domain.entity.Product;
 import com.membership.product.domain.entity.ProductCategory;
+import com.membership.product.infrastructure.web.WireFormat;
+import com.membership.product.infrastructure.web.cache.ProductResponseCache;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,20 +31,29 @@ public class ProductController {
 
     private final ProductService productService;
     private final ProductMapper mapper;
+    private final ProductResponseCache responseCache;
 
-    public ProductController(ProductService productService, ProductMapper mapper) {
+    public ProductController(ProductService productService, ProductMapper mapper,
+                             ProductResponseCache responseCache) {
         this.productService = productService;
         this.mapper = mapper;
+        this.responseCache = responseCache;
     }
 
+    // Les lectures renvoient les octets pré-sérialisés de ProductResponseCache,
+    // en CBOR si le client le demande explicitement (Accept: application/cbor)
+
     @GetMapping
-    public ResponseEntity<List<ProductResponseDTO>> getAllProducts() {
-        return ResponseEntity.ok(
-                productService.findAll()
-                        .stream()
-                        .map(mapper::toResponse)
-                        .toList()
-        );
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class))),
+            @Content(mediaType = "application/cbor",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class)))})
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.list("all", productService.findAll(), acceptEncoding,
+                WireFormat.negotiate(accept));
     }
 
     @PostMapping
@@ -46,16 +62,37 @@ public class ProductController {
 
         Product product = mapper.toEntity(dto);
         Product saved = productService.create(product);
+        responseCache.evict(saved.getId());
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(mapper.toResponse(saved));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDTO> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(
-                mapper.toResponse(productService.findById(id))
-        );
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponseDTO.class)),
+            @Content(mediaType = "application/cbor", schema = @Schema(implementation = ProductResponseDTO.class))})
+    public ResponseEntity<byte[]> getById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.product(productService.findById(id), acceptEncoding,
+                WireFormat.negotiate(accept));
+    }
+
+    // Lot d'ids (au plus 100) : produits trouvés, ids inconnus absents de la liste
+    @GetMapping("/batch")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class))),
+            @Content(mediaType = "application/cbor",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class)))})
+    public ResponseEntity<byte[]> getByIds(
+            @RequestParam List<Long> ids,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.uncachedList(productService.findAllById(ids), acceptEncoding,
+                WireFormat.negotiate(accept));
     }
 
     @PutMapping("/{id}")
@@ -64,9 +101,9 @@ public class ProductController {
             @Valid @RequestBody ProductRequestDTO dto) {
 
         Product updated = mapper.toEntity(dto);
-        return ResponseEntity.ok(
-                mapper.toResponse(productService.update(id, updated))
-        );
+        ProductResponseDTO response = mapper.toResponse(productService.update(id, updated));
+        responseCache.evict(id);
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/search")
@@ -80,25 +117,31 @@ public class ProductController {
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<ProductResponseDTO>> byCategory(
-            @PathVariable ProductCategory category) {
-
-        return ResponseEntity.ok(
-                productService.findByCategory(category)
-                        .stream()
-                        .map(mapper::toResponse)
-                        .toList()
-        );
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class))),
+            @Content(mediaType = "application/cbor",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class)))})
+    public ResponseEntity<byte[]> byCategory(
+            @PathVariable ProductCategory category,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        return responseCache.list("category:" + category.name(),
+                productService.findByCategory(category), acceptEncoding, WireFormat.negotiate(accept));
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<ProductResponseDTO>> available() {
-        return ResponseEntity.ok(
-                productService.available()
-                        .stream()
-                        .map(mapper::toResponse)
-                        .toList()
-        );
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class))),
+            @Content(mediaType = "application/cbor",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class)))})
+    public ResponseEntity<byte[]> available(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.list("available", productService.available(), acceptEncoding,
+                WireFormat.negotiate(accept));
     }
 
     @PutMapping("/{id}/stock")
@@ -107,6 +150,7 @@ public class ProductController {
             @RequestBody StockUpdateRequestDTO dto
     ) {
         productService.updateStock(id, dto.getQuantityChange());
+        responseCache.evict(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -3,12 +3,15 @@ package com.membership.product;
 import com.membership.product.application.service.ProductService;
 import com.membership.product.domain.entity.Product;
 import com.membership.product.domain.entity.ProductCategory;
+import com.membership.product.domain.value.Money;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.TransactionSystemException;
 
-import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,7 +26,7 @@ class ProductServiceTest {
 		Product p = new Product();
 		p.setName("Pc portable");
 		p.setDescription("Lenovo Yogo tatata");
-		p.setPrice(BigDecimal.valueOf(1200));
+		p.setPrice(Money.parse("1200.00"));
 		p.setStock(10);
 		p.setCategory(ProductCategory.ELECTRONICS);
 
@@ -32,6 +35,38 @@ class ProductServiceTest {
 		assertNotNull(saved.getId());
 		assertEquals(10, saved.getStock());
 		assertEquals(ProductCategory.ELECTRONICS, saved.getCategory());
+		assertEquals(Money.parse("1200.00"), service.findById(saved.getId()).getPrice());
+	}
+
+	@Test
+	void shouldRejectPriceOutOfRange() {
+		Product p = new Product();
+		p.setName("Câble USB");
+		p.setDescription("Câble USB-C tressé de deux mètres");
+		p.setPrice(Money.ZERO);
+		p.setStock(1);
+		p.setCategory(ProductCategory.ELECTRONICS);
+
+		TransactionSystemException e = assertThrows(TransactionSystemException.class, () -> service.create(p));
+		assertInstanceOf(ConstraintViolationException.class, e.getMostSpecificCause());
+	}
+
+	@Test
+	void shouldFindProductsByIdBatch() {
+		Product p = new Product();
+		p.setName("Casque audio");
+		p.setDescription("Casque sans fil à réduction de bruit");
+		p.setPrice(Money.parse("150.00"));
+		p.setStock(4);
+		p.setCategory(ProductCategory.ELECTRONICS);
+		Product saved = service.create(p);
+
+		List<Product> found = service.findAllById(List.of(saved.getId(), -1L));
+
+		assertEquals(1, found.size());
+		assertEquals(saved.getId(), found.get(0).getId());
+		assertThrows(IllegalArgumentException.class, () -> service.findAllById(
+				LongStream.rangeClosed(1, 101).boxed().toList()));
 	}
 
 
@@ -0,0 +1,91 @@
+package com.membership.product;
+
+import com.membership.product.application.catalog.CatalogSnapshot;
+import com.membership.product.application.catalog.ProductCatalog;
+import com.membership.product.application.service.ProductService;
+import com.membership.product.domain.entity.Product;
+import com.membership.product.domain.entity.ProductCategory;
+import com.membership.product.domain.value.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProductCatalogTest {
+
+	@Autowired
+	ProductService service;
+
+	@Autowired
+	ProductCatalog catalog;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Test
+	void writesArePublishedToTheSnapshot() {
+		long version = catalog.current().version();
+
+		Product saved = service.create(product("Roman policier", 2));
+
+		assertTrue(catalog.current().version() > version);
+		assertSame(catalog.current().get(saved.getId()), service.findById(saved.getId()));
+		assertTrue(service.findByCategory(ProductCategory.BOOKS).stream()
+				.anyMatch(p -> p.getId().equals(saved.getId())));
+		assertTrue(service.available().stream().anyMatch(p -> p.getId().equals(saved.getId())));
+
+		service.updateStock(saved.getId(), -2);
+
+		assertEquals(0, service.findById(saved.getId()).getStock());
+		assertFalse(service.available().stream().anyMatch(p -> p.getId().equals(saved.getId())));
+	}
+
+	@Test
+	void stockUpdatesReplaceOneEntryWithoutRebuilding() {
+		Product saved = service.create(product("Atlas", 3));
+		CatalogSnapshot before = catalog.current();
+		long rebuilds = meterRegistry.get("catalog.snapshot.rebuild").timer().count();
+
+		service.updateStock(saved.getId(), -1);
+		service.updateStock(saved.getId(), -1);
+		service.updateStock(saved.getId(), -1);
+
+		assertEquals(rebuilds, meterRegistry.get("catalog.snapshot.rebuild").timer().count());
+		assertEquals(before.version() + 3, catalog.current().version());
+		assertEquals(3, before.get(saved.getId()).getStock());
+		assertEquals(0, service.findById(saved.getId()).getStock());
+		assertSame(service.findById(saved.getId()), service.findByCategory(ProductCategory.BOOKS).stream()
+				.filter(p -> p.getId().equals(saved.getId())).findFirst().orElseThrow());
+		assertFalse(service.available().stream().anyMatch(p -> p.getId().equals(saved.getId())));
+		assertTrue(before.available().stream().anyMatch(p -> p.getId().equals(saved.getId())));
+
+		service.updateStock(saved.getId(), 4);
+
+		assertEquals(rebuilds, meterRegistry.get("catalog.snapshot.rebuild").timer().count());
+		assertTrue(service.available().stream().anyMatch(p -> p.getId().equals(saved.getId())));
+		assertEquals(catalog.current().size(), service.findAll().size());
+	}
+
+	@Test
+	void reloadKeepsTheSnapshotInSyncWithTheDatabase() {
+		Product saved = service.create(product("Dictionnaire", 5));
+
+		catalog.reload();
+
+		assertEquals(5, service.findById(saved.getId()).getStock());
+		assertEquals(catalog.current().size(), service.findAll().size());
+	}
+
+	private Product product(String name, int stock) {
+		Product p = new Product();
+		p.setName(name);
+		p.setDescription("Livre de test pour le catalogue");
+		p.setPrice(Money.parse("15.00"));
+		p.setStock(stock);
+		p.setCategory(ProductCategory.BOOKS);
+		return p;
+	}
+}
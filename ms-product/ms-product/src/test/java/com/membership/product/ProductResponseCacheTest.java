@@ -0,0 +1,121 @@
+package com.membership.product;
+
+import com.membership.product.application.service.ProductService;
+import com.membership.product.domain.entity.Product;
+import com.membership.product.domain.entity.ProductCategory;
+import com.membership.product.domain.value.Money;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.membership.product.infrastructure.web.WireFormat;
+import com.membership.product.infrastructure.web.cache.ProductResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = "products.response-cache.gzip-min-size=64")
+class ProductResponseCacheTest {
+
+	@Autowired
+	ProductService service;
+
+	@Autowired
+	ProductResponseCache cache;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Test
+	void secondReadIsServedFromCachedBytes() {
+		Product saved = service.create(product());
+		double hits = hits();
+
+		ResponseEntity<byte[]> first = cache.product(service.findById(saved.getId()), null);
+		ResponseEntity<byte[]> second = cache.product(service.findById(saved.getId()), null);
+
+		assertSame(first.getBody(), second.getBody());
+		assertEquals(hits + 1, hits());
+		assertTrue(new String(second.getBody()).contains("\"name\":\"Lampe de bureau\""));
+	}
+
+	@Test
+	void changedProductIsSerializedAgain() {
+		Product saved = service.create(product());
+		byte[] before = cache.product(service.findById(saved.getId()), null).getBody();
+
+		service.updateStock(saved.getId(), -1);
+		cache.evict(saved.getId());
+		byte[] after = cache.product(service.findById(saved.getId()), null).getBody();
+
+		assertNotSame(before, after);
+		assertTrue(new String(after).contains("\"stock\":2"));
+	}
+
+	@Test
+	void gzipIsSentOnlyWhenAccepted() throws IOException {
+		service.create(product());
+
+		ResponseEntity<byte[]> plain = cache.list("all", service.findAll(), null);
+		ResponseEntity<byte[]> gzipped = cache.list("all", service.findAll(), "gzip, deflate");
+
+		assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+			assertArrayEquals(plain.getBody(), in.readAllBytes());
+		}
+	}
+
+	@Test
+	void cborRepresentationIsCachedSeparately() throws IOException {
+		Product saved = service.create(product());
+
+		ResponseEntity<byte[]> json = cache.product(service.findById(saved.getId()), null);
+		ResponseEntity<byte[]> cbor = cache.product(service.findById(saved.getId()), "gzip", WireFormat.CBOR);
+
+		assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+		assertNull(cbor.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertNotEquals(json.getHeaders().getETag(), cbor.getHeaders().getETag());
+		assertTrue(cbor.getBody().length < json.getBody().length);
+
+		// Prix à deux décimales : comparés en BigDecimal dans les deux formats
+		JsonNode decoded = new ObjectMapper(new CBORFactory())
+				.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS).readTree(cbor.getBody());
+		assertEquals(new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+				.readTree(json.getBody()).toString(), decoded.toString());
+	}
+
+	@Test
+	void cborIsNegotiatedOnlyWhenPreferred() {
+		assertEquals(WireFormat.JSON, WireFormat.negotiate(null));
+		assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*"));
+		assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor, application/json;q=0.5"));
+		assertEquals(WireFormat.JSON, WireFormat.negotiate("application/json, application/cbor;q=0.5"));
+	}
+
+	private double hits() {
+		return meterRegistry.get("products.response.cache.requests").tag("result", "hit").counter().count();
+	}
+
+	private Product product() {
+		Product p = new Product();
+		p.setName("Lampe de bureau");
+		p.setDescription("Lampe LED orientable pour le bureau");
+		p.setPrice(Money.parse("35.00"));
+		p.setStock(3);
+		p.setCategory(ProductCategory.ELECTRONICS);
+		return p;
+	}
+}
@@ -0,0 +1,111 @@
+package com.membership.product;
+
+import com.membership.product.application.service.ReadCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadCoalescerTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final AtomicInteger lookups = new AtomicInteger();
+
+	@Test
+	void identicalConcurrentReadsShareOneLookup() throws Exception {
+		ReadCoalescer coalescer = new ReadCoalescer(true, Duration.ofSeconds(10), registry);
+		CountDownLatch release = new CountDownLatch(1);
+
+		List<CompletableFuture<String>> results = readConcurrently(coalescer, 5, () -> {
+			lookups.incrementAndGet();
+			await(release);
+			return "produit";
+		});
+		awaitFollowers();
+		release.countDown();
+
+		for (CompletableFuture<String> result : results) {
+			assertEquals("produit", result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, lookups.get());
+		assertEquals(4.0, count("shared"));
+	}
+
+	@Test
+	void followerReadsItselfAfterMaxWait() throws Exception {
+		ReadCoalescer coalescer = new ReadCoalescer(true, Duration.ofMillis(50), registry);
+		CountDownLatch release = new CountDownLatch(1);
+
+		List<CompletableFuture<String>> leader = readConcurrently(coalescer, 1, () -> {
+			lookups.incrementAndGet();
+			await(release);
+			return "lent";
+		});
+		while (lookups.get() == 0) {
+			Thread.onSpinWait();
+		}
+
+		assertEquals("rapide", coalescer.coalesce("findById", 1L, () -> "rapide"));
+		assertEquals(1.0, count("timeout"));
+		release.countDown();
+		assertEquals("lent", leader.get(0).get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void failureIsNotRemembered() {
+		ReadCoalescer coalescer = new ReadCoalescer(true, Duration.ofSeconds(1), registry);
+
+		assertThrows(IllegalStateException.class, () -> coalescer.coalesce("findById", 1L, () -> {
+			throw new IllegalStateException("base indisponible");
+		}));
+		assertEquals("produit", coalescer.coalesce("findById", 1L, () -> "produit"));
+	}
+
+	private List<CompletableFuture<String>> readConcurrently(ReadCoalescer coalescer, int readers,
+															 Supplier<String> lookup) {
+		List<CompletableFuture<String>> results = new ArrayList<>();
+		for (int i = 0; i < readers; i++) {
+			CompletableFuture<String> result = new CompletableFuture<>();
+			results.add(result);
+			Thread.ofVirtual().start(() -> {
+				try {
+					result.complete(coalescer.coalesce("findById", 1L, lookup));
+				} catch (RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			});
+		}
+		return results;
+	}
+
+	// Les suivants sont en attente dès que le premier exécute la lecture ; laisse-leur le temps d'arriver
+	private void awaitFollowers() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (lookups.get() == 0 && System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+		Thread.sleep(200);
+	}
+
+	private double count(String result) {
+		return registry.find("products.read.coalescing").tag("result", result).counters().stream()
+				.mapToDouble(c -> c.count()).sum();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.membership.product;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.membership.product.application.service.ProductService;
+import com.membership.product.domain.entity.Product;
+import com.membership.product.domain.entity.ProductCategory;
+import com.membership.product.domain.value.Money;
+import com.membership.product.infrastructure.channel.StockChannelServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+		"stock-channel.enabled=true",
+		"stock-channel.port=0",
+		"stock-channel.token=secret"
+})
+class StockChannelServerTest {
+
+	private static final byte HELLO = 0, GET_PRODUCT = 1, ADJUST_STOCK = 2;
+	private static final byte OK = 0, NOT_FOUND = 1, REJECTED = 2, UNAUTHORIZED = 3;
+
+	@Autowired
+	StockChannelServer server;
+
+	@Autowired
+	ProductService service;
+
+	@Test
+	void pipelinedRequestsAreAnsweredByCorrelationId() throws IOException {
+		Product saved = service.create(product());
+
+		try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+			DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+			DataInputStream in = new DataInputStream(socket.getInputStream());
+
+			write(out, 1, HELLO, "secret".getBytes(StandardCharsets.UTF_8));
+			assertEquals(OK, read(in).get(1L)[0]);
+
+			// trois requêtes envoyées sans attendre de réponse
+			write(out, 10, ADJUST_STOCK, ByteBuffer.allocate(12).putLong(saved.getId()).putInt(-2).array());
+			write(out, 11, ADJUST_STOCK, ByteBuffer.allocate(12).putLong(saved.getId()).putInt(-50).array());
+			write(out, 12, GET_PRODUCT, ByteBuffer.allocate(8).putLong(999_999L).array());
+			Map<Long, byte[]> replies = new HashMap<>();
+			for (int i = 0; i < 3; i++) {
+				replies.putAll(read(in));
+			}
+			assertEquals(OK, replies.get(10L)[0]);
+			assertEquals(REJECTED, replies.get(11L)[0]);
+			assertEquals(NOT_FOUND, replies.get(12L)[0]);
+
+			write(out, 13, GET_PRODUCT, ByteBuffer.allocate(8).putLong(saved.getId()).array());
+			byte[] reply = read(in).get(13L);
+			assertEquals(OK, reply[0]);
+			JsonNode product = new ObjectMapper(new CBORFactory())
+					.readTree(Arrays.copyOfRange(reply, 1, reply.length));
+			assertEquals(1, product.get("stock").asInt());
+		}
+	}
+
+	@Test
+	void connectionWithWrongTokenIsRefusedThenClosed() throws IOException {
+		try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+			write(new DataOutputStream(socket.getOutputStream()), 1, HELLO, "wrong".getBytes(StandardCharsets.UTF_8));
+			DataInputStream in = new DataInputStream(socket.getInputStream());
+			assertEquals(UNAUTHORIZED, read(in).get(1L)[0]);
+			assertEquals(-1, in.read());
+		}
+	}
+
+	@Test
+	void serverWithoutTokenDoesNotStart() {
+		assertThrows(IllegalStateException.class, () -> new StockChannelServer(null, null, new SimpleMeterRegistry(),
+				"127.0.0.1", 0, " ", 1, 1, false));
+	}
+
+	private static void write(DataOutputStream out, long id, byte op, byte[] payload) throws IOException {
+		out.writeInt(9 + payload.length);
+		out.writeLong(id);
+		out.writeByte(op);
+		out.write(payload);
+		out.flush();
+	}
+
+	// identifiant -> [statut, charge utile...]
+	private static Map<Long, byte[]> read(DataInputStream in) throws IOException {
+		byte[] frame = new byte[in.readInt()];
+		in.readFully(frame);
+		ByteBuffer buffer = ByteBuffer.wrap(frame);
+		long id = buffer.getLong();
+		byte[] reply = new byte[frame.length - Long.BYTES];
+		buffer.get(reply);
+		return Map.of(id, reply);
+	}
+
+	private Product product() {
+		Product p = new Product();
+		p.setName("Clavier mécanique");
+		p.setDescription("Clavier mécanique rétroéclairé");
+		p.setPrice(Money.parse("89.00"));
+		p.setStock(3);
+		p.setCategory(ProductCategory.ELECTRONICS);
+		return p;
+	}
+}